@@ -0,0 +1,68 @@
+package net.contargo.content.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import net.contargo.content.Content;
+import net.contargo.content.ContentsCodec;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures reading documents with the {@code ContentDeserializer}, and with the binary codec for comparison.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeserializeBenchmark {
+
+    @Param({ Documents.SMALL, Documents.LARGE })
+    public String shape;
+
+    private ObjectReader reader;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup
+    public void setUp() {
+
+        reader = new ObjectMapper().readerFor(Content[].class);
+        json = Documents.build(shape).asJSON().getBytes(StandardCharsets.UTF_8);
+        binary = Documents.build(shape).asBinary();
+    }
+
+
+    @Benchmark
+    public Content[] fromJSON() throws IOException {
+
+        return reader.readValue(json);
+    }
+
+
+    @Benchmark
+    public List<Content> fromBinary() throws IOException {
+
+        return ContentsCodec.decode(binary);
+    }
+}
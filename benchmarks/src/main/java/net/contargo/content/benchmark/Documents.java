@@ -0,0 +1,117 @@
+package net.contargo.content.benchmark;
+
+import net.contargo.content.Contents;
+import net.contargo.content.MimeType;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+
+/**
+ * Realistic content documents for the benchmarks, in a small and a large shape.
+ *
+ * <p>The large shape holds subject, description and body texts in many languages, app icon references with several
+ * params-heavy mime type variants and a binary app icon.</p>
+ */
+final class Documents {
+
+    static final String SMALL = "small";
+    static final String LARGE = "large";
+
+    static final List<Locale> LOCALES = Arrays.stream(new String[] {
+                "en", "de", "fr", "it", "nl", "pl", "es", "sv", "cs", "da", "fi", "no", "pt", "hu", "ro", "sk", "sl",
+                "hr", "bg", "el", "lt", "lv", "et", "tr"
+            }).map(Locale::new).collect(Collectors.toList());
+
+    static final MimeType[] ICON_VARIANTS = {
+        MimeType.TEXT_APPICON.withParams("class=small;theme=light;density=mdpi"),
+        MimeType.TEXT_APPICON.withParams("class=small;theme=dark;density=xhdpi"),
+        MimeType.TEXT_APPICON.withParams("class=large;theme=light;density=mdpi"),
+        MimeType.TEXT_APPICON.withParams("class=large;theme=dark;density=xhdpi")
+    };
+
+    private static final int ICON_SIZE = 16 * 1024;
+
+    private static final String[] SUBJECTS = texts("Container delivered (%s)");
+    private static final String[] DESCRIPTIONS = texts("Delivery (%s)");
+    private static final String[] BODIES = texts(repeat(
+                "[%1$s] Your container MSKU 123456-7 has been delivered to the terminal and is ready for pick-up. ", 10));
+    private static final byte[] ICON = icon();
+
+    private Documents() {
+
+        // Hidden
+    }
+
+    static Contents.Buildable build(String shape) {
+
+        return LARGE.equals(shape) ? large() : small();
+    }
+
+
+    static Contents.Buildable small() {
+
+        return Contents.withMimeType(MimeType.TEXT_SUBJECT)
+            .andValue("Container delivered")
+            .andWithMimeType(MimeType.TEXT_BODY)
+            .andValue("Your container MSKU 123456-7 has been delivered to the terminal.");
+    }
+
+
+    static Contents.Buildable large() {
+
+        Contents.Buildable buildable = Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue(SUBJECTS[0]);
+
+        for (int i = 0; i < LOCALES.size(); i++) {
+            buildable = buildable.andValue(SUBJECTS[i], LOCALES.get(i));
+        }
+
+        buildable = buildable.andWithMimeType(MimeType.TEXT_DESCRIPTION).andValue(DESCRIPTIONS[0]);
+
+        for (int i = 0; i < LOCALES.size(); i++) {
+            buildable = buildable.andValue(DESCRIPTIONS[i], LOCALES.get(i));
+        }
+
+        buildable = buildable.andWithMimeType(MimeType.TEXT_BODY).andValue(BODIES[0]);
+
+        for (int i = 0; i < LOCALES.size(); i++) {
+            buildable = buildable.andValue(BODIES[i], LOCALES.get(i));
+        }
+
+        for (MimeType variant : ICON_VARIANTS) {
+            buildable = buildable.andWithMimeType(variant).andValue("https://example.com/icons/appicon.svg");
+        }
+
+        return buildable.andWithMimeType(MimeType.IMAGE_APPICON).andValue(ICON);
+    }
+
+
+    private static String[] texts(String pattern) {
+
+        return LOCALES.stream().map(locale -> String.format(pattern, locale)).toArray(String[]::new);
+    }
+
+
+    private static String repeat(String text, int times) {
+
+        StringBuilder repeated = new StringBuilder(text.length() * times);
+
+        for (int i = 0; i < times; i++) {
+            repeated.append(text);
+        }
+
+        return repeated.toString();
+    }
+
+
+    private static byte[] icon() {
+
+        byte[] icon = new byte[ICON_SIZE];
+        new Random(42).nextBytes(icon);
+
+        return icon;
+    }
+}
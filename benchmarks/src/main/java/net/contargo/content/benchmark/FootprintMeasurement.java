@@ -0,0 +1,76 @@
+package net.contargo.content.benchmark;
+
+import net.contargo.content.CompactContents;
+import net.contargo.content.Content;
+import net.contargo.content.Contents;
+import net.contargo.content.MimeType;
+
+import org.openjdk.jol.info.GraphLayout;
+import org.openjdk.jol.vm.VM;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Measures the retained heap of documents with 20 entries, as {@link Contents} and as {@link CompactContents},
+ * excluding the mime type, locale and value instances, which are shared or equal in both representations.
+ *
+ * <p>Not a JMH benchmark, run it with its main method, see the README.</p>
+ */
+public final class FootprintMeasurement {
+
+    private static final int ENTRIES = 20;
+
+    private FootprintMeasurement() {
+
+        // Hidden
+    }
+
+    public static void main(String[] args) {
+
+        System.out.println(VM.current().details());
+
+        measure("localized", build(true));
+        measure("unlocalized", build(false));
+    }
+
+
+    private static List<Content> build(boolean localized) {
+
+        List<Content> entries = new ArrayList<>();
+
+        for (int i = 0; i < ENTRIES; i++) {
+            String value = "Container delivered " + i;
+            Locale locale = Documents.LOCALES.get(i);
+
+            entries.add(localized ? Content.of(MimeType.TEXT_BODY, value, locale)
+                                  : Content.of(MimeType.TEXT_BODY, value));
+        }
+
+        return entries;
+    }
+
+
+    private static void measure(String shape, List<Content> entries) {
+
+        List<Object> shared = new ArrayList<>();
+
+        for (Content content : entries) {
+            shared.add(MimeType.valueOf(content.getMimeType()));
+            shared.add(content.getContent());
+
+            if (content.getLocale() != null) {
+                shared.add(content.getLocale());
+            }
+        }
+
+        GraphLayout sharedLayout = GraphLayout.parseInstance(shared.toArray());
+
+        long contents = GraphLayout.parseInstance(new Contents(entries)).subtract(sharedLayout).totalSize();
+        long compact = GraphLayout.parseInstance(CompactContents.of(entries)).subtract(sharedLayout).totalSize();
+
+        System.out.printf("%s: Contents %d bytes, CompactContents %d bytes%n", shape, contents, compact);
+    }
+}
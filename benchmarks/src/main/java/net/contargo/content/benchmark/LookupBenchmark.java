@@ -0,0 +1,69 @@
+package net.contargo.content.benchmark;
+
+import net.contargo.content.Contents;
+import net.contargo.content.MimeType;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures {@code forMimeType} and {@code forMimeTypeAndLocale} lookups on a large, multi-language document.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class LookupBenchmark {
+
+    private static final Locale LAST_LOCALE = Documents.LOCALES.get(Documents.LOCALES.size() - 1);
+
+    private Contents contents;
+
+    @Setup
+    public void setUp() {
+
+        contents = new Contents(Documents.large().asList());
+    }
+
+
+    @Benchmark
+    public Object forMimeType() {
+
+        return contents.forMimeType(MimeType.IMAGE_APPICON);
+    }
+
+
+    @Benchmark
+    public Object forMimeTypeWithParams() {
+
+        return contents.forMimeType(Documents.ICON_VARIANTS[Documents.ICON_VARIANTS.length - 1]);
+    }
+
+
+    @Benchmark
+    public Object forMimeTypeAndLocale() {
+
+        return contents.forMimeTypeAndLocale(MimeType.TEXT_BODY, LAST_LOCALE);
+    }
+
+
+    @Benchmark
+    public Object forMimeTypeAndLocaleMissing() {
+
+        return contents.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.JAPANESE);
+    }
+}
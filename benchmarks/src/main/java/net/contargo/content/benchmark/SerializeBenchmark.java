@@ -0,0 +1,88 @@
+package net.contargo.content.benchmark;
+
+import net.contargo.content.Content;
+import net.contargo.content.Contents;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Measures building the results of a populated builder: {@code asList}, {@code asMap}, {@code asJSON} and
+ * {@code asBinary}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class SerializeBenchmark {
+
+    @Param({ Documents.SMALL, Documents.LARGE })
+    public String shape;
+
+    private Contents.Buildable buildable;
+    private ByteArrayOutputStream out;
+
+    @Setup
+    public void setUp() {
+
+        buildable = Documents.build(shape);
+        out = new ByteArrayOutputStream(64 * 1024);
+    }
+
+
+    @Benchmark
+    public List<Content> asList() {
+
+        return buildable.asList();
+    }
+
+
+    @Benchmark
+    public List<Map<String, Object>> asMap() {
+
+        return buildable.asMap();
+    }
+
+
+    @Benchmark
+    public String asJSON() {
+
+        return buildable.asJSON();
+    }
+
+
+    @Benchmark
+    public int asJSONStream() throws IOException {
+
+        out.reset();
+        buildable.asJSON(out);
+
+        return out.size();
+    }
+
+
+    @Benchmark
+    public byte[] asBinary() {
+
+        return buildable.asBinary();
+    }
+}
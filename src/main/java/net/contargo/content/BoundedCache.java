@@ -0,0 +1,80 @@
+package net.contargo.content;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+
+/**
+ * Small thread-safe cache, evicting the least recently used entry once its maximum size is reached.
+ *
+ * <p>Values are loaded outside of the cache lock, so concurrent misses for the same key may load it more than once;
+ * the first value stored wins. Loaders must not return {@code null}.</p>
+ *
+ * @param  <K>  type of keys
+ * @param  <V>  type of values
+ *
+ * @since  0.5
+ */
+final class BoundedCache<K, V> {
+
+    private final Map<K, V> entries;
+
+    BoundedCache(int maximumSize) {
+
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum cache size must be positive: " + maximumSize);
+        }
+
+        this.entries = new LinkedHashMap<K, V>(16, 0.75f, true) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+
+                return size() > maximumSize;
+            }
+        };
+    }
+
+    /**
+     * Returns the cached value for the given key, loading and caching it if absent.
+     *
+     * @param  key  to look up
+     * @param  loader  to load absent values with
+     *
+     * @return  the cached or loaded value
+     */
+    V get(K key, Function<? super K, ? extends V> loader) {
+
+        synchronized (entries) {
+            V value = entries.get(key);
+
+            if (value != null) {
+                return value;
+            }
+        }
+
+        V loaded = loader.apply(key);
+
+        synchronized (entries) {
+            V value = entries.putIfAbsent(key, loaded);
+
+            return value == null ? loaded : value;
+        }
+    }
+
+
+    /**
+     * Returns the number of cached entries.
+     *
+     * @return  the cache size
+     */
+    int size() {
+
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package net.contargo.content;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Locale;
+import java.util.RandomAccess;
+
+
+/**
+ * Immutable, memory-compact representation of contents, for keeping large numbers of documents in caches.
+ *
+ * <p>Instead of one {@link Content} object, with an {@code Optional} locale, per entry in a list, the mime types,
+ * locales and values are stored in parallel arrays. Mime types are canonical, shared instances, and absent locales are
+ * stored as {@code null} - or not at all, if no entry is localized. Lookups scan the arrays, comparing mime types by
+ * reference first, which is fast for the document sizes this is intended for.</p>
+ *
+ * <p>On a 64-bit JVM with compressed references, an entry takes 12 bytes here, compared to 44 bytes for a localized
+ * and 28 bytes for an unlocalized entry in {@link Contents}. This excludes the mime type, locale and value instances,
+ * which are shared or equal in both representations. For documents of 20 entries, the retained heap is 312 instead of
+ * 944 bytes with localized, and 216 instead of 640 bytes with unlocalized entries, as measured with JOL by
+ * {@code FootprintMeasurement} in the {@code benchmarks} directory.</p>
+ *
+ * @since  0.5
+ */
+public final class CompactContents {
+
+    private final MimeType[] mimeTypes;
+    private final Locale[] locales;
+    private final Object[] values;
+
+    private CompactContents(MimeType[] mimeTypes, Locale[] locales, Object[] values) {
+
+        this.mimeTypes = mimeTypes;
+        this.locales = locales;
+        this.values = values;
+    }
+
+    /**
+     * Creates a compact representation of the given contents.
+     *
+     * @param  contents  to represent
+     *
+     * @return  a new compact contents instance
+     */
+    public static CompactContents of(Contents contents) {
+
+        return of(contents.asList());
+    }
+
+
+    /**
+     * Creates a compact representation of the given content entries.
+     *
+     * @param  contents  to represent
+     *
+     * @return  a new compact contents instance
+     */
+    public static CompactContents of(List<Content> contents) {
+
+        int size = contents.size();
+        MimeType[] mimeTypes = new MimeType[size];
+        Locale[] locales = null;
+        Object[] values = new Object[size];
+
+        for (int i = 0; i < size; i++) {
+            Content content = contents.get(i);
+            mimeTypes[i] = content.mimeType();
+            values[i] = content.rawContent();
+
+            Locale locale = content.getLocale();
+
+            if (locale != null) {
+                locales = locales == null ? new Locale[size] : locales;
+                locales[i] = locale;
+            }
+        }
+
+        return new CompactContents(mimeTypes, locales, values);
+    }
+
+
+    /**
+     * Returns the number of content entries.
+     *
+     * @return  the number of entries
+     */
+    public int size() {
+
+        return values.length;
+    }
+
+
+    /**
+     * Returns the content entries, created on access.
+     *
+     * @return  an unmodifiable list of content entries
+     */
+    public List<Content> asList() {
+
+        return new Entries();
+    }
+
+
+    /**
+     * Retrieves the content matching the given MIME-type.
+     *
+     * @param  mimeType  predicate to match
+     * @param  <T>  inferring the type of content to retrieve
+     *
+     * @return  the content value found, or {@code null} if not content could be found
+     *
+     * @see  Contents#forMimeType(MimeType)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T forMimeType(MimeType mimeType) {
+
+        for (int i = 0; i < mimeTypes.length; i++) {
+            if (matches(i, mimeType)) {
+                return (T) value(i);
+            }
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Retrieves the content matching the given MIME-type and locale.
+     *
+     * @param  mimeType  predicate to match
+     * @param  locale  predicate to match
+     * @param  <T>  inferring the type of content to retrieve
+     *
+     * @return  the content value found, or {@code null} if not content could be found
+     *
+     * @see  Contents#forMimeTypeAndLocale(MimeType, Locale)
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T forMimeTypeAndLocale(MimeType mimeType, Locale locale) {
+
+        if (locales == null) {
+            return null;
+        }
+
+        String language = locale.getLanguage();
+
+        for (int i = 0; i < mimeTypes.length; i++) {
+            if (locales[i] != null && matches(i, mimeType) && language.equals(locales[i].getLanguage())) {
+                return (T) value(i);
+            }
+        }
+
+        return null;
+    }
+
+
+    private boolean matches(int index, MimeType mimeType) {
+
+        MimeType candidate = mimeTypes[index];
+
+        return candidate == mimeType || candidate.equals(mimeType);
+    }
+
+
+    private Object value(int index) {
+
+        Object value = values[index];
+
+        return value instanceof DeferredContent ? ((DeferredContent) value).get() : value;
+    }
+
+
+    private Content entry(int index) {
+
+        Locale locale = locales == null ? null : locales[index];
+
+        return locale == null ? new Content(mimeTypes[index], values[index])
+                              : new Content(mimeTypes[index], values[index], locale);
+    }
+
+    /**
+     * List view creating a content entry for each element access.
+     */
+    private final class Entries extends AbstractList<Content> implements RandomAccess {
+
+        @Override
+        public Content get(int index) {
+
+            return entry(index);
+        }
+
+
+        @Override
+        public int size() {
+
+            return values.length;
+        }
+    }
+}
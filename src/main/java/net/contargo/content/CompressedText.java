@@ -0,0 +1,109 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+
+/**
+ * Text content kept in its compressed, Base64 encoded form, as read, and decompressed on first access only.
+ *
+ * @since  0.5
+ */
+final class CompressedText implements DeferredContent {
+
+    private final String encoded;
+    private final String encoding;
+    private final int maximumSize;
+    private volatile String decoded;
+
+    CompressedText(String encoded, String encoding, int maximumSize) {
+
+        this.encoded = encoded;
+        this.encoding = encoding;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns the decompressed text, decompressing it on the first call.
+     *
+     * @return  the text
+     *
+     * @throws  IllegalArgumentException  if the encoded form is not valid Base64, or the text exceeds the maximum size
+     * @throws  java.io.UncheckedIOException  if the decoded bytes are not validly compressed
+     */
+    @Override
+    public String get() {
+
+        String text = decoded;
+
+        if (text == null) {
+            text = ContentCompression.decompress(EncodedBinary.BASE64.decode(encoded), encoding, maximumSize);
+            decoded = text;
+        }
+
+        return text;
+    }
+
+
+    /**
+     * Returns the decompressed text, or this instance if it can not be decompressed.
+     */
+    @Override
+    public Object comparable() {
+
+        try {
+            return get();
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            return this;
+        }
+    }
+
+
+    /**
+     * Returns {@code false}, compressed content is always text.
+     */
+    @Override
+    public boolean isBinary() {
+
+        return false;
+    }
+
+
+    /**
+     * Writes the decompressed text.
+     */
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        gen.writeString(get());
+    }
+
+
+    /**
+     * Returns whether this text was compressed with the given compression.
+     *
+     * @param  compression  to check
+     *
+     * @return  {@code true} if the encoding matches, otherwise {@code false}
+     */
+    boolean isCompressedWith(ContentCompression compression) {
+
+        return encoding.equals(compression.getEncoding());
+    }
+
+
+    /**
+     * Writes the compressed form, exactly as it was read.
+     *
+     * @param  gen  to write to
+     *
+     * @throws  IOException  if writing fails
+     */
+    void serializeCompressed(JsonGenerator gen) throws IOException {
+
+        gen.writeString(encoded);
+    }
+}
@@ -3,12 +3,13 @@ package net.contargo.content;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonInclude.Include;
 import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 
-import java.text.MessageFormat;
-
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 
@@ -23,9 +24,10 @@ import java.util.Optional;
  */
 @JsonInclude(Include.NON_ABSENT)
 @JsonDeserialize(using = ContentDeserializer.class)
+@JsonSerialize(using = ContentSerializer.class)
 public class Content {
 
-    private String mimeType;
+    private MimeType mimeType;
     private Object content;
     private Optional<Locale> locale;
 
@@ -37,12 +39,24 @@ public class Content {
 
     Content(String mimeType, Object content) {
 
-        this(mimeType, content, Optional.empty());
+        this(MimeType.valueOf(mimeType), content, Optional.empty());
     }
 
 
     Content(String mimeType, Object content, Locale locale) {
 
+        this(MimeType.valueOf(mimeType), content, Optional.of(locale));
+    }
+
+
+    Content(MimeType mimeType, Object content) {
+
+        this(mimeType, content, Optional.empty());
+    }
+
+
+    Content(MimeType mimeType, Object content, Locale locale) {
+
         this(mimeType, content, Optional.of(locale));
     }
 
@@ -54,13 +68,62 @@ public class Content {
      * @param  content  of the entry
      * @param  locale  of the entry
      */
-    private Content(String mimeType, Object content, Optional<Locale> locale) {
+    private Content(MimeType mimeType, Object content, Optional<Locale> locale) {
 
         this.mimeType = mimeType;
         this.content = content;
         this.locale = locale;
     }
 
+    /**
+     * Creates a new text content entry.
+     *
+     * @param  mimeType  of the entry
+     * @param  value  of the entry
+     *
+     * @return  a new content entry
+     *
+     * @since  0.5
+     */
+    public static Content of(MimeType mimeType, String value) {
+
+        return new Content(mimeType, value);
+    }
+
+
+    /**
+     * Creates a new localized text content entry.
+     *
+     * @param  mimeType  of the entry
+     * @param  value  of the entry
+     * @param  locale  of the value localization/language
+     *
+     * @return  a new content entry
+     *
+     * @since  0.5
+     */
+    public static Content of(MimeType mimeType, String value, Locale locale) {
+
+        return new Content(mimeType, value, locale);
+    }
+
+
+    /**
+     * Creates a new binary content entry.
+     *
+     * @param  mimeType  of the entry
+     * @param  value  of the entry
+     *
+     * @return  a new content entry
+     *
+     * @since  0.5
+     */
+    public static Content of(MimeType mimeType, byte[] value) {
+
+        return new Content(mimeType, value);
+    }
+
+
     /**
      * Returns the mime type of this content entry.
      *
@@ -68,6 +131,17 @@ public class Content {
      */
     public String getMimeType() {
 
+        return this.mimeType.getMimeType();
+    }
+
+
+    /**
+     * Returns the parsed mime type of this content entry.
+     *
+     * @return  mime type
+     */
+    MimeType mimeType() {
+
         return this.mimeType;
     }
 
@@ -79,6 +153,59 @@ public class Content {
      */
     public Object getContent() {
 
+        if (content instanceof DeferredContent) {
+            return ((DeferredContent) content).get();
+        }
+
+        return content;
+    }
+
+
+    /**
+     * Returns the binary content data of this entry.
+     *
+     * <p>Binary content read from JSON is kept in its encoded form, and decoded on the first call to this method or
+     * {@link #getContent()}. Content added from a stream is read fully on the first call.</p>
+     *
+     * @return  content data bytes, or {@code null} if the entry does not hold binary content
+     *
+     * @throws  IllegalArgumentException  if encoded content is not valid Base64
+     * @throws  IllegalStateException  if stream content has already been consumed by serialization
+     *
+     * @since  0.5
+     */
+    public byte[] getBinaryContent() {
+
+        Object value = getContent();
+
+        return value instanceof byte[] ? (byte[]) value : null;
+    }
+
+
+    /**
+     * Returns whether this entry holds binary content, without decoding or reading it.
+     *
+     * @return  {@code true} for binary content, otherwise {@code false}
+     *
+     * @since  0.5
+     */
+    public boolean isBinary() {
+
+        if (content instanceof DeferredContent) {
+            return ((DeferredContent) content).isBinary();
+        }
+
+        return content instanceof byte[];
+    }
+
+
+    /**
+     * Returns the content data as held, which may be a {@link DeferredContent} not yet materialized.
+     *
+     * @return  content data object as held
+     */
+    Object rawContent() {
+
         return content;
     }
 
@@ -97,38 +224,78 @@ public class Content {
     @Override
     public String toString() {
 
+        StringBuilder builder = new StringBuilder(64).append("Content [mimeType=").append(getMimeType())
+            .append(", content=").append(getContent());
+
         if (locale.isPresent()) {
-            return MessageFormat.format("Content [mimeType={0}, content={1}, locale={2}]", mimeType, content,
-                    locale.get());
+            builder.append(", locale=").append(locale.get());
         }
 
-        return MessageFormat.format("Content [mimeType={0}, content={1}]", mimeType, content);
+        return builder.append(']').toString();
     }
 
 
-    static Map<String, Object> asMap(Content content) {
+    @Override
+    public int hashCode() {
 
-        Map<String, Object> map = new HashMap<>(3);
+        Object value = comparableContent();
 
-        map.put("mimeType", content.getMimeType());
-        map.put("content", content.getContent());
+        return Objects.hash(mimeType, locale,
+                value instanceof byte[] ? Arrays.hashCode((byte[]) value) : Objects.hashCode(value));
+    }
 
-        Optional.ofNullable(content.getLocale()).ifPresent(l -> map.put("locale", l.toString()));
 
-        return map;
+    /**
+     * Content entries are equal if their mime types, locales and content values are equal. Binary content values are
+     * compared by their bytes.
+     *
+     * <p>Comparing never consumes or fails: Base64 encoded and compressed content is compared by its decoded value,
+     * or by identity if it can not be decoded. Binary content added from a stream is always compared by identity, as
+     * it can not be compared without reading the stream.</p>
+     */
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+
+        if (!(obj instanceof Content)) {
+            return false;
+        }
+
+        Content other = (Content) obj;
+
+        if (!Objects.equals(mimeType, other.mimeType) || !Objects.equals(locale, other.locale)) {
+            return false;
+        }
+
+        Object value = comparableContent();
+        Object otherValue = other.comparableContent();
+
+        if (value instanceof byte[] && otherValue instanceof byte[]) {
+            return Arrays.equals((byte[]) value, (byte[]) otherValue);
+        }
+
+        return Objects.equals(value, otherValue);
     }
 
 
-    boolean forMimeType(MimeType mimeType) {
+    private Object comparableContent() {
 
-        return this.mimeType.equals(mimeType.getMimeType());
+        return content instanceof DeferredContent ? ((DeferredContent) content).comparable() : content;
     }
 
 
-    boolean forMimeTypeAndLocale(MimeType mimeType, Locale locale) {
+    static Map<String, Object> asMap(Content content) {
 
-        String lang = this.locale.map(Locale::getLanguage).orElse(null);
+        Map<String, Object> map = new HashMap<>(3);
 
-        return locale.getLanguage().equals(lang) && this.mimeType.equals(mimeType.getMimeType());
+        map.put("mimeType", content.getMimeType());
+        map.put("content", content.getContent());
+
+        Optional.ofNullable(content.getLocale()).ifPresent(l -> map.put("locale", l.toString()));
+
+        return map;
     }
 }
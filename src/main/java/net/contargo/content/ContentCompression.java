@@ -0,0 +1,255 @@
+package net.contargo.content;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.InflaterInputStream;
+
+
+/**
+ * Opt-in compression of large text content, when serializing to JSON.
+ *
+ * <p>Compression is enabled per write, by passing a compression as attribute to the {@link ContentSerializer}:</p>
+ *
+ * <pre><code>
+String json = mapper.writer()
+        .withAttribute(ContentCompression.class, ContentCompression.deflate(4096))
+        .writeValueAsString(contents);
+   </code></pre>
+ *
+ * <p>Text content of at least the threshold length is written as Base64 encoded, compressed UTF-8 bytes, and its mime
+ * type flagged with an {@code encoding} parameter, for example {@code text/vnd.contargo.body;encoding=deflate}.
+ * Content that would not get smaller is written uncompressed.</p>
+ *
+ * <p>Reading recognizes flagged content only if a compression is given as attribute to the
+ * {@link ContentDeserializer} as well, and otherwise keeps the flagged mime type and the encoded value as read. Flagged
+ * content of either encoding is recognized. The entry is restored with its original mime type, and the text only
+ * decompressed when first accessed, for example through {@link Contents#forMimeType(MimeType)}. Decompression stops
+ * with an {@link IllegalArgumentException} once the text exceeds the maximum size of the reading compression, 16 MiB
+ * of UTF-8 bytes unless set with {@link #withMaximumSize(int)}, so that small malicious payloads can not exhaust the
+ * heap. Content read compressed is written again as-is, when the same compression is enabled, and written
+ * decompressed otherwise. Clients never enabling compression are not affected.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentCompression {
+
+    static final String DEFLATE = "deflate";
+    static final String GZIP = "gzip";
+
+    private static final String PARAM = "encoding=";
+    private static final String DEFLATE_SUFFIX = ';' + PARAM + DEFLATE;
+    private static final String GZIP_SUFFIX = ';' + PARAM + GZIP;
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 16 * 1024 * 1024;
+
+    private final String encoding;
+    private final int threshold;
+    private final int maximumSize;
+
+    private ContentCompression(String encoding, int threshold, int maximumSize) {
+
+        this.encoding = encoding;
+        this.threshold = threshold;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * Returns a compression, deflating text content of at least the given length.
+     *
+     * @param  threshold  minimum number of characters, for text content to be compressed
+     *
+     * @return  the deflate compression
+     */
+    public static ContentCompression deflate(int threshold) {
+
+        return new ContentCompression(DEFLATE, threshold, DEFAULT_MAXIMUM_SIZE);
+    }
+
+
+    /**
+     * Returns a compression, gzipping text content of at least the given length.
+     *
+     * @param  threshold  minimum number of characters, for text content to be compressed
+     *
+     * @return  the gzip compression
+     */
+    public static ContentCompression gzip(int threshold) {
+
+        return new ContentCompression(GZIP, threshold, DEFAULT_MAXIMUM_SIZE);
+    }
+
+
+    /**
+     * Returns a compression like this one, limiting decompressed content read to the given size.
+     *
+     * @param  bytes  maximum size of decompressed content, in UTF-8 bytes
+     *
+     * @return  a new compression
+     */
+    public ContentCompression withMaximumSize(int bytes) {
+
+        return new ContentCompression(encoding, threshold, bytes);
+    }
+
+
+    /**
+     * Returns the encoding name, as used for the mime type parameter.
+     *
+     * @return  the encoding name
+     */
+    String getEncoding() {
+
+        return encoding;
+    }
+
+
+    /**
+     * Returns the maximum size of decompressed content read.
+     *
+     * @return  the maximum size, in UTF-8 bytes
+     */
+    int getMaximumSize() {
+
+        return maximumSize;
+    }
+
+
+    /**
+     * Returns whether the given text content should be compressed.
+     *
+     * @param  mimeType  of the content
+     * @param  text  content value
+     *
+     * @return  {@code true} if the content is text of at least the threshold length, otherwise {@code false}
+     */
+    boolean applies(MimeType mimeType, String text) {
+
+        return text.length() >= threshold && mimeType.isText() && encodingOf(mimeType) == null;
+    }
+
+
+    /**
+     * Returns the given mime type, flagged with the encoding of this compression.
+     *
+     * @param  mimeType  to flag
+     *
+     * @return  the flagged mime type
+     */
+    MimeType flag(MimeType mimeType) {
+
+        return mimeType.withParams(PARAM + encoding);
+    }
+
+
+    /**
+     * Compresses the given text, as UTF-8 bytes.
+     *
+     * @param  text  to compress
+     *
+     * @return  the compressed bytes
+     */
+    byte[] compress(String text) {
+
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(bytes.length / 2 + 64);
+
+        try(OutputStream out = GZIP.equals(encoding) ? new GZIPOutputStream(buffer)
+                : new DeflaterOutputStream(buffer)) {
+            out.write(bytes);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return buffer.toByteArray();
+    }
+
+
+    /**
+     * Decompresses the given bytes into text.
+     *
+     * @param  bytes  compressed UTF-8 bytes
+     * @param  encoding  of the compression
+     * @param  maximumSize  of the decompressed bytes
+     *
+     * @return  the decompressed text
+     *
+     * @throws  UncheckedIOException  if the bytes are not validly compressed
+     * @throws  IllegalArgumentException  if the decompressed bytes exceed the maximum size
+     */
+    static String decompress(byte[] bytes, String encoding, int maximumSize) {
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream((int) Math.min(bytes.length * 4L, maximumSize));
+        byte[] chunk = new byte[4096];
+
+        try(InputStream in = GZIP.equals(encoding) ? new GZIPInputStream(new ByteArrayInputStream(bytes))
+                : new InflaterInputStream(new ByteArrayInputStream(bytes))) {
+            int read;
+
+            while ((read = in.read(chunk)) >= 0) {
+                if (buffer.size() + read > maximumSize) {
+                    throw new IllegalArgumentException("Decompressed content exceeds the maximum size of "
+                        + maximumSize + " bytes");
+                }
+
+                buffer.write(chunk, 0, read);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        return new String(buffer.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+
+    /**
+     * Returns the compression encoding the given mime type is flagged with.
+     *
+     * @param  mimeType  to check
+     *
+     * @return  the encoding name, or {@code null} if not a text mime type flagged as compressed
+     */
+    static String encodingOf(MimeType mimeType) {
+
+        if (mimeType.getParams() == null || !mimeType.isText()) {
+            return null;
+        }
+
+        String value = mimeType.getMimeType();
+
+        if (value.endsWith(DEFLATE_SUFFIX)) {
+            return DEFLATE;
+        }
+
+        if (value.endsWith(GZIP_SUFFIX)) {
+            return GZIP;
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Returns the given flagged mime type, without the encoding parameter.
+     *
+     * @param  mimeType  flagged mime type
+     * @param  encoding  the mime type is flagged with
+     *
+     * @return  the original mime type
+     */
+    static MimeType unflag(MimeType mimeType, String encoding) {
+
+        String value = mimeType.getMimeType();
+
+        return MimeType.valueOf(value.substring(0, value.length() - PARAM.length() - encoding.length() - 1));
+    }
+}
@@ -1,15 +1,14 @@
 package net.contargo.content;
 
-import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonLocation;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.TreeNode;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
-import com.fasterxml.jackson.databind.node.TextNode;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
 
 import java.util.Locale;
 
@@ -17,6 +16,23 @@ import java.util.Locale;
 /**
  * Custom deserializer for content entries.
  *
+ * <p>Entries are decoded in a single pass over the parser tokens, without materializing a tree. Unknown properties
+ * are skipped. Base64 encoded binary content is kept encoded, and only decoded when first accessed.</p>
+ *
+ * <p>If a {@link ContentInterner} is given as the attribute {@code ContentInterner.class} of the deserialization,
+ * locales and short text values are deduplicated through it.</p>
+ *
+ * <p>If a {@link ContentCompression} is given as the attribute {@code ContentCompression.class} of the deserialization,
+ * text content flagged as compressed, by an {@code encoding} mime type parameter, is restored with its original mime
+ * type, and only decompressed when first accessed, up to the maximum size of the compression.</p>
+ *
+ * <p>If a {@link ContentsProjection} is given as the attribute {@code ContentsProjection.class} of the
+ * deserialization, entries it rejects are skipped at the token level, as soon as their mime type or locale is read,
+ * and deserialized as {@code null}. Their content is only skipped without being read if it follows the mime type and
+ * locale, as written by {@link ContentSerializer}.</p>
+ *
+ * <p>Every entry read is reported to the registered {@link ContentsListener}, if any.</p>
+ *
  * @author  Olle Törnström - toernstroem@synyx.de
  * @since  0.2
  */
@@ -32,24 +48,212 @@ public final class ContentDeserializer extends StdDeserializer<Content> {
     @Override
     public Content deserialize(JsonParser p, DeserializationContext ctxt) throws IOException, JsonProcessingException {
 
-        ObjectMapper mapper = (ObjectMapper) p.getCodec();
+        ContentsListener listener = ContentsInstrumentation.listener();
+
+        if (listener == ContentsListener.NOOP) {
+            return read(p, ctxt);
+        }
+
+        long start = System.nanoTime();
+        long from = offsetOf(p.getTokenLocation());
+
+        Content content = read(p, ctxt);
+
+        if (content != null) {
+            long to = offsetOf(p.getCurrentLocation());
+            listener.deserialized(content, from < 0 || to < 0 ? -1 : to - from, System.nanoTime() - start);
+        }
+
+        return content;
+    }
+
+
+    private Content read(JsonParser p, DeserializationContext ctxt) throws IOException {
+
+        JsonToken token = p.currentToken();
+
+        if (token == JsonToken.START_OBJECT) {
+            token = p.nextToken();
+        }
+
+        ContentsProjection projection = (ContentsProjection) ctxt.getAttribute(ContentsProjection.class);
+        ContentCompression compression = (ContentCompression) ctxt.getAttribute(ContentCompression.class);
+
+        MimeType mimeType = null;
+        String text = null;
+        byte[] bytes = null;
+        Locale locale = null;
+
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.getCurrentName();
+            JsonToken value = p.nextToken();
 
-        TreeNode node = p.getCodec().readTree(p);
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
 
-        String mimeType = ((TextNode) node.get("mimeType")).textValue();
+            switch (field) {
+                case "mimeType":
+                    mimeType = MimeType.valueOf(scalarValue(p, ctxt, value, field));
 
-        final Object content;
+                    if (projection != null && !projection.accepts(mimeType, compression != null)) {
+                        return skipEntry(p, ctxt);
+                    }
 
-        if (mimeType.startsWith("text")) {
-            content = ((TextNode) node.get("content")).textValue();
-        } else {
-            content = ((TextNode) node.get("content")).getBinaryValue(Base64Variants.MIME_NO_LINEFEEDS);
+                    break;
+
+                case "content":
+                    if (value == JsonToken.VALUE_EMBEDDED_OBJECT) {
+                        bytes = p.getBinaryValue(EncodedBinary.BASE64);
+                    } else {
+                        text = scalarValue(p, ctxt, value, field);
+                    }
+
+                    break;
+
+                case "locale":
+                    if (value == JsonToken.VALUE_STRING) {
+                        locale = parseLocale(p.getText());
+
+                        if (projection != null && !projection.accepts(locale)) {
+                            return skipEntry(p, ctxt);
+                        }
+                    } else {
+                        p.skipChildren();
+                    }
+
+                    break;
+
+                default:
+                    p.skipChildren();
+            }
         }
 
-        if (node.path("locale").isValueNode()) {
-            return new Content(mimeType, content, node.get("locale").traverse(mapper).readValueAs(Locale.class));
+        if (token != JsonToken.END_OBJECT) {
+            throw ctxt.wrongTokenException(p, Content.class, JsonToken.END_OBJECT, "Unexpected token in content entry");
+        }
+
+        if (mimeType == null) {
+            return ctxt.reportInputMismatch(this, "Missing required content entry property 'mimeType'");
+        }
+
+        String encoding = compression == null ? null : ContentCompression.encodingOf(mimeType);
+
+        if (encoding != null) {
+            mimeType = ContentCompression.unflag(mimeType, encoding);
+        }
+
+        ContentInterner interner = (ContentInterner) ctxt.getAttribute(ContentInterner.class);
+
+        if (interner != null) {
+            locale = locale == null ? null : interner.intern(locale);
+            text = text == null || encoding != null || !mimeType.isText() ? text : interner.intern(text);
+        }
+
+        Object content = bytes == null || encoding == null ? bytes : decompress(bytes, encoding, compression, ctxt);
+
+        if (content == null && text != null && encoding != null) {
+            content = new CompressedText(text, encoding, compression.getMaximumSize());
+        } else if (content == null && text != null) {
+            content = mimeType.isText() ? text : new EncodedBinary(text);
+        }
+
+        return locale == null ? new Content(mimeType, content) : new Content(mimeType, content, locale);
+    }
+
+
+    private String decompress(byte[] bytes, String encoding, ContentCompression compression,
+        DeserializationContext ctxt) throws IOException {
+
+        try {
+            return ContentCompression.decompress(bytes, encoding, compression.getMaximumSize());
+        } catch (IllegalArgumentException | UncheckedIOException e) {
+            return ctxt.reportInputMismatch(this, "Invalid compressed content: %s", e.getMessage());
+        }
+    }
+
+
+    private String scalarValue(JsonParser p, DeserializationContext ctxt, JsonToken value, String field)
+        throws IOException {
+
+        if (!value.isScalarValue()) {
+            p.skipChildren();
+
+            return ctxt.reportInputMismatch(this, "Content entry property '%s' must be a scalar value, not %s",
+                    field, value);
+        }
+
+        return p.getValueAsString();
+    }
+
+
+    private static long offsetOf(JsonLocation location) {
+
+        return location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
+    }
+
+
+    private Content skipEntry(JsonParser p, DeserializationContext ctxt) throws IOException {
+
+        JsonToken token = p.nextToken();
+
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            p.nextToken();
+            p.skipChildren();
+        }
+
+        if (token != JsonToken.END_OBJECT) {
+            throw ctxt.wrongTokenException(p, Content.class, JsonToken.END_OBJECT, "Unexpected token in content entry");
+        }
+
+        return null;
+    }
+
+
+    /**
+     * Parses a locale from its string representation, the same way Jackson Databind does: splitting language, country
+     * and variant on the first hyphen or underscore characters. An empty value is parsed as {@link Locale#ROOT}.
+     *
+     * @param  value  to parse
+     *
+     * @return  the parsed locale
+     */
+    static Locale parseLocale(String value) {
+
+        String remaining = value.trim();
+
+        if (remaining.isEmpty()) {
+            return Locale.ROOT;
+        }
+
+        int ix = firstHyphenOrUnderscore(remaining);
+
+        if (ix < 0) {
+            return new Locale(remaining);
+        }
+
+        String language = remaining.substring(0, ix);
+        remaining = remaining.substring(ix + 1);
+        ix = firstHyphenOrUnderscore(remaining);
+
+        if (ix < 0) {
+            return new Locale(language, remaining);
+        }
+
+        return new Locale(language, remaining.substring(0, ix), remaining.substring(ix + 1));
+    }
+
+
+    private static int firstHyphenOrUnderscore(String value) {
+
+        for (int i = 0, end = value.length(); i < end; ++i) {
+            char c = value.charAt(i);
+
+            if (c == '_' || c == '-') {
+                return i;
+            }
         }
 
-        return new Content(mimeType, content);
+        return -1;
     }
 }
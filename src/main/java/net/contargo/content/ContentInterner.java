@@ -0,0 +1,254 @@
+package net.contargo.content;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Bounded, concurrent intern pool for deduplicating locales and short text values of deserialized content entries.
+ *
+ * <p>Deduplication is enabled per read, by passing an interner as attribute to the {@link ContentDeserializer}:</p>
+ *
+ * <pre><code>
+ContentInterner interner = new ContentInterner();
+Content[] contents = mapper.readerFor(Content[].class)
+        .withAttribute(ContentInterner.class, interner)
+        .readValue(json);
+   </code></pre>
+ *
+ * <p>One interner is meant to be shared by all reads feeding the same long-lived caches. Mime types are always
+ * deduplicated, through the canonical instances of {@link MimeType#valueOf(String)}. Once a pool has reached its
+ * maximum size, further new values are no longer pooled.</p>
+ *
+ * <p>The interner keeps statistics about its use, including an estimate of the heap saved, assuming a 64-bit JVM with
+ * compressed references and compact strings.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentInterner {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 16384;
+    private static final int DEFAULT_MAXIMUM_TEXT_LENGTH = 256;
+
+    private static final int LOCALE_SIZE = 32;
+    private static final int STRING_SIZE = 24;
+    private static final int ARRAY_HEADER_SIZE = 16;
+
+    private final int maximumSize;
+    private final int maximumTextLength;
+
+    private final ConcurrentMap<Locale, Locale> locales = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, String> texts = new ConcurrentHashMap<>();
+
+    private final LongAdder localeHits = new LongAdder();
+    private final LongAdder textHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder bytesSaved = new LongAdder();
+
+    /**
+     * Creates an interner, pooling up to 16384 locales and texts each, of at most 256 characters.
+     */
+    public ContentInterner() {
+
+        this(DEFAULT_MAXIMUM_SIZE, DEFAULT_MAXIMUM_TEXT_LENGTH);
+    }
+
+
+    /**
+     * Creates an interner with the given limits.
+     *
+     * @param  maximumSize  number of values pooled, for locales and texts each
+     * @param  maximumTextLength  of text values to pool, longer values are not deduplicated
+     */
+    public ContentInterner(int maximumSize, int maximumTextLength) {
+
+        this.maximumSize = maximumSize;
+        this.maximumTextLength = maximumTextLength;
+    }
+
+    /**
+     * Returns the pooled instance equal to the given locale.
+     *
+     * @param  locale  to deduplicate
+     *
+     * @return  the pooled locale, or the given locale if not pooled
+     */
+    Locale intern(Locale locale) {
+
+        Locale pooled = locales.get(locale);
+
+        if (pooled != null) {
+            localeHits.increment();
+            bytesSaved.add(LOCALE_SIZE);
+
+            return pooled;
+        }
+
+        return add(locales, locale);
+    }
+
+
+    /**
+     * Returns the pooled instance equal to the given text, if it is short enough for pooling.
+     *
+     * @param  text  to deduplicate
+     *
+     * @return  the pooled text, or the given text if not pooled
+     */
+    String intern(String text) {
+
+        if (text.length() > maximumTextLength) {
+            return text;
+        }
+
+        String pooled = texts.get(text);
+
+        if (pooled != null) {
+            textHits.increment();
+            bytesSaved.add(sizeOf(pooled));
+
+            return pooled;
+        }
+
+        return add(texts, text);
+    }
+
+
+    /**
+     * Returns a snapshot of the statistics of this interner.
+     *
+     * @return  the current statistics
+     */
+    public Statistics getStatistics() {
+
+        return new Statistics(localeHits.sum(), textHits.sum(), misses.sum(), rejected.sum(), bytesSaved.sum());
+    }
+
+
+    private <T> T add(ConcurrentMap<T, T> pool, T value) {
+
+        if (pool.size() >= maximumSize) {
+            rejected.increment();
+
+            return value;
+        }
+
+        T existing = pool.putIfAbsent(value, value);
+
+        if (existing == null) {
+            misses.increment();
+
+            return value;
+        }
+
+        return existing;
+    }
+
+
+    private static long sizeOf(String text) {
+
+        int bytesPerChar = 1;
+
+        for (int i = 0, length = text.length(); i < length; i++) {
+            if (text.charAt(i) > 0xFF) {
+                bytesPerChar = 2;
+
+                break;
+            }
+        }
+
+        return STRING_SIZE + align(ARRAY_HEADER_SIZE + (long) text.length() * bytesPerChar);
+    }
+
+
+    private static long align(long size) {
+
+        return (size + 7) & ~7L;
+    }
+
+    /**
+     * Snapshot of the statistics of an interner.
+     */
+    public static final class Statistics {
+
+        private final long localeHits;
+        private final long textHits;
+        private final long misses;
+        private final long rejected;
+        private final long estimatedBytesSaved;
+
+        private Statistics(long localeHits, long textHits, long misses, long rejected, long estimatedBytesSaved) {
+
+            this.localeHits = localeHits;
+            this.textHits = textHits;
+            this.misses = misses;
+            this.rejected = rejected;
+            this.estimatedBytesSaved = estimatedBytesSaved;
+        }
+
+        /**
+         * Returns the number of locales replaced by a pooled instance.
+         *
+         * @return  locale hit count
+         */
+        public long getLocaleHits() {
+
+            return localeHits;
+        }
+
+
+        /**
+         * Returns the number of texts replaced by a pooled instance.
+         *
+         * @return  text hit count
+         */
+        public long getTextHits() {
+
+            return textHits;
+        }
+
+
+        /**
+         * Returns the number of values added to a pool.
+         *
+         * @return  miss count
+         */
+        public long getMisses() {
+
+            return misses;
+        }
+
+
+        /**
+         * Returns the number of values not pooled, because the pool was full.
+         *
+         * @return  rejected count
+         */
+        public long getRejected() {
+
+            return rejected;
+        }
+
+
+        /**
+         * Returns the estimated number of heap bytes saved, by dropping duplicates in favour of pooled instances.
+         *
+         * @return  estimated bytes saved
+         */
+        public long getEstimatedBytesSaved() {
+
+            return estimatedBytesSaved;
+        }
+
+
+        @Override
+        public String toString() {
+
+            return "Statistics [localeHits=" + localeHits + ", textHits=" + textHits + ", misses=" + misses
+                + ", rejected=" + rejected + ", estimatedBytesSaved=" + estimatedBytesSaved + "]";
+        }
+    }
+}
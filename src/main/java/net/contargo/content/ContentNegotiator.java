@@ -0,0 +1,242 @@
+package net.contargo.content;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Selects the best content entry for the language preferences of a client, for example from an
+ * {@code Accept-Language} header.
+ *
+ * <pre><code>
+ContentNegotiator negotiator = new ContentNegotiator(Locale.ENGLISH);
+Content subject = negotiator.negotiate(contents, MimeType.TEXT_SUBJECT, "de-CH,de;q=0.9,fr;q=0.5");
+   </code></pre>
+ *
+ * <p>The language ranges are turned into a fallback chain, in order of their weight: each range matches entries with
+ * the exact locale first, and then entries with the same language. For the example above, this gives
+ * {@code de_CH, de, fr}. A wildcard range {@code *} matches any localized entry. The chain ends with the unlocalized
+ * entry and finally the default locale, and its language. Malformed headers are ignored, and negotiate like an empty
+ * header.</p>
+ *
+ * <p>Ranges with a weight of zero mark entries as not acceptable, overriding the wildcard and the default locale: a
+ * locale range excludes entries with that locale, a language range excludes all entries of the language, unless
+ * their exact locale is requested, and {@code *;q=0} excludes all localized entries not requested explicitly. For
+ * {@code *,fr;q=0}, any localized entry but a French one is returned.</p>
+ *
+ * <p>The entries of the mime type are ranked along the chain in a single pass, and the first entry with the best rank
+ * is returned. Parsed headers and fallback chains are cached, as the same few headers are typically seen over and
+ * over. Negotiators are thread-safe.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentNegotiator {
+
+    private static final int DEFAULT_CACHE_SIZE = 1024;
+
+    private final Locale defaultLocale;
+    private final BoundedCache<String, Chain> headers;
+    private final BoundedCache<List<Locale.LanguageRange>, Chain> ranges;
+
+    /**
+     * Creates a negotiator, falling back to the given default locale, caching up to 1024 headers.
+     *
+     * @param  defaultLocale  to fall back to, after the unlocalized entry
+     */
+    public ContentNegotiator(Locale defaultLocale) {
+
+        this(defaultLocale, DEFAULT_CACHE_SIZE);
+    }
+
+
+    /**
+     * Creates a negotiator, falling back to the given default locale.
+     *
+     * @param  defaultLocale  to fall back to, after the unlocalized entry
+     * @param  cacheSize  number of headers, and of range lists, to cache fallback chains for
+     */
+    public ContentNegotiator(Locale defaultLocale, int cacheSize) {
+
+        this.defaultLocale = defaultLocale;
+        this.headers = new BoundedCache<>(cacheSize);
+        this.ranges = new BoundedCache<>(cacheSize);
+    }
+
+    /**
+     * Returns the best entry of the given mime type, for the given {@code Accept-Language} header.
+     *
+     * @param  contents  to select from
+     * @param  mimeType  of the entry
+     * @param  acceptLanguage  header value, may be {@code null}
+     *
+     * @return  the best entry, or {@code null} if no entry matches the fallback chain
+     */
+    public Content negotiate(Contents contents, MimeType mimeType, String acceptLanguage) {
+
+        Chain chain = headers.get(acceptLanguage == null ? "" : acceptLanguage, this::parse);
+
+        return chain.best(contents.asList(), mimeType);
+    }
+
+
+    /**
+     * Returns the best entry of the given mime type, for the given weighted language ranges.
+     *
+     * @param  contents  to select from
+     * @param  mimeType  of the entry
+     * @param  languageRanges  preferred by the client, used as cache key and not to be modified afterwards
+     *
+     * @return  the best entry, or {@code null} if no entry matches the fallback chain
+     */
+    public Content negotiate(Contents contents, MimeType mimeType, List<Locale.LanguageRange> languageRanges) {
+
+        Chain chain = ranges.get(languageRanges, this::chain);
+
+        return chain.best(contents.asList(), mimeType);
+    }
+
+
+    private Chain parse(String acceptLanguage) {
+
+        if (Contents.isNullOrBlank(acceptLanguage)) {
+            return chain(Collections.emptyList());
+        }
+
+        try {
+            return chain(Locale.LanguageRange.parse(acceptLanguage));
+        } catch (IllegalArgumentException e) {
+            return chain(Collections.emptyList());
+        }
+    }
+
+
+    private Chain chain(List<Locale.LanguageRange> languageRanges) {
+
+        Chain chain = new Chain();
+
+        languageRanges.stream()
+            .filter(range -> range.getWeight() > 0)
+            .sorted((a, b) -> Double.compare(b.getWeight(), a.getWeight()))
+            .forEachOrdered(range -> chain.add(range.getRange()));
+
+        languageRanges.stream()
+            .filter(range -> range.getWeight() == 0)
+            .forEach(range -> chain.exclude(range.getRange()));
+
+        chain.unlocalized = chain.next++;
+
+        if (defaultLocale != null) {
+            chain.add(defaultLocale);
+        }
+
+        return chain;
+    }
+
+    /**
+     * Fallback chain, as ranks of exact locales, languages, any localized entry and the unlocalized entry. Lower ranks
+     * are preferred, and never reached or excluded parts of the chain rank {@link Integer#MAX_VALUE}.
+     */
+    private static final class Chain {
+
+        private final Map<Locale, Integer> locales = new HashMap<>();
+        private final Map<String, Integer> languages = new HashMap<>();
+        private final Set<Locale> excludedLocales = new HashSet<>();
+        private final Set<String> excludedLanguages = new HashSet<>();
+
+        private int wildcard = Integer.MAX_VALUE;
+        private int unlocalized = Integer.MAX_VALUE;
+        private boolean excludesOthers;
+        private int next;
+
+        private void add(String range) {
+
+            if ("*".equals(range)) {
+                wildcard = Math.min(wildcard, next++);
+            } else {
+                add(Locale.forLanguageTag(range));
+            }
+        }
+
+
+        private void add(Locale locale) {
+
+            if (!locale.getCountry().isEmpty() || !locale.getScript().isEmpty() || !locale.getVariant().isEmpty()) {
+                locales.putIfAbsent(locale, next++);
+            }
+
+            if (!locale.getLanguage().isEmpty()) {
+                languages.putIfAbsent(locale.getLanguage(), next++);
+            }
+        }
+
+
+        private void exclude(String range) {
+
+            if ("*".equals(range)) {
+                excludesOthers = true;
+
+                return;
+            }
+
+            Locale locale = Locale.forLanguageTag(range);
+
+            if (!locale.getCountry().isEmpty() || !locale.getScript().isEmpty() || !locale.getVariant().isEmpty()) {
+                excludedLocales.add(locale);
+            } else if (!locale.getLanguage().isEmpty()) {
+                excludedLanguages.add(locale.getLanguage());
+            }
+        }
+
+
+        private Content best(List<Content> values, MimeType mimeType) {
+
+            Content best = null;
+            int bestRank = Integer.MAX_VALUE;
+
+            for (Content content : values) {
+                if (!mimeType.equals(content.mimeType())) {
+                    continue;
+                }
+
+                int rank = rank(content.getLocale());
+
+                if (rank < bestRank) {
+                    best = content;
+                    bestRank = rank;
+
+                    if (rank == 0) {
+                        break;
+                    }
+                }
+            }
+
+            return best;
+        }
+
+
+        private int rank(Locale locale) {
+
+            if (locale == null) {
+                return unlocalized;
+            }
+
+            Integer exact = locales.get(locale);
+            Integer language = languages.get(locale.getLanguage());
+            boolean requested = exact != null && exact < unlocalized;
+
+            if (excludedLocales.contains(locale) || (excludedLanguages.contains(locale.getLanguage()) && !requested)) {
+                return Integer.MAX_VALUE;
+            }
+
+            int rank = Math.min(wildcard, exact == null ? Integer.MAX_VALUE : exact);
+            rank = Math.min(rank, language == null ? Integer.MAX_VALUE : language);
+
+            return excludesOthers && rank > unlocalized ? Integer.MAX_VALUE : rank;
+        }
+    }
+}
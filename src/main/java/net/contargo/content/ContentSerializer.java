@@ -0,0 +1,99 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+import java.util.Locale;
+
+
+/**
+ * Custom serializer for content entries, writing each entry straight to the generator.
+ *
+ * <p>Properties are written in the order {@code mimeType}, {@code locale} and {@code content}, so that readers, like a
+ * {@link ContentsProjection}, can skip the content of entries they do not need without reading it. Earlier versions
+ * wrote the content first, which is still read, as the order of properties is not significant. Binary content is
+ * Base64 encoded while written. Content still held in its read, encoded form is written as-is, and content added from
+ * a stream is encoded while it is read.</p>
+ *
+ * <p>If a {@link ContentCompression} is given as the attribute {@code ContentCompression.class} of the serialization,
+ * large text content is written compressed.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentSerializer extends StdSerializer<Content> {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContentSerializer() {
+
+        super(Content.class);
+    }
+
+    @Override
+    public void serialize(Content value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        Object content = value.rawContent();
+        MimeType mimeType = value.mimeType();
+        ContentCompression compression = (ContentCompression) provider.getAttribute(ContentCompression.class);
+
+        boolean recompressed = compression != null && content instanceof CompressedText
+            && ((CompressedText) content).isCompressedWith(compression);
+        byte[] compressed = compression != null && content instanceof String
+            && compression.applies(mimeType, (String) content) ? compress((String) content, compression) : null;
+
+        if (recompressed || compressed != null) {
+            mimeType = compression.flag(mimeType);
+        }
+
+        gen.writeStartObject();
+        gen.writeStringField("mimeType", mimeType.getMimeType());
+
+        Locale locale = value.getLocale();
+
+        if (locale != null) {
+            gen.writeStringField("locale", locale.toString());
+        }
+
+        gen.writeFieldName("content");
+
+        if (recompressed) {
+            ((CompressedText) content).serializeCompressed(gen);
+        } else if (compressed != null) {
+            gen.writeBinary(provider.getConfig().getBase64Variant(), compressed, 0, compressed.length);
+        } else if (content instanceof DeferredContent) {
+            ((DeferredContent) content).serialize(gen, provider);
+        } else {
+            writeContent(content, gen, provider);
+        }
+
+        gen.writeEndObject();
+    }
+
+
+    /**
+     * Returns the compressed text, or {@code null} if its Base64 form would not be shorter than the text.
+     */
+    private static byte[] compress(String text, ContentCompression compression) {
+
+        byte[] bytes = compression.compress(text);
+
+        return (bytes.length + 2L) / 3 * 4 >= text.length() ? null : bytes;
+    }
+
+
+    private static void writeContent(Object content, JsonGenerator gen, SerializerProvider provider)
+        throws IOException {
+
+        if (content instanceof String) {
+            gen.writeString((String) content);
+        } else if (content instanceof byte[]) {
+            byte[] bytes = (byte[]) content;
+            gen.writeBinary(provider.getConfig().getBase64Variant(), bytes, 0, bytes.length);
+        } else {
+            provider.defaultSerializeValue(content, gen);
+        }
+    }
+}
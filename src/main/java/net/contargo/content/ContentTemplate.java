@@ -0,0 +1,332 @@
+package net.contargo.content;
+
+import java.text.DateFormat;
+import java.text.MessageFormat;
+import java.text.NumberFormat;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Precompiled, localized content template, rendering arguments into ready contents in one pass.
+ *
+ * <p>Patterns use the {@link MessageFormat} syntax, and are given per mime-type and optional locale. Each pattern is
+ * parsed once, when the template is compiled. Patterns with only plain {@code {n}} arguments are compiled into a list
+ * of literal and argument segments, formatting arguments the way {@link MessageFormat} does, using the pattern locale.
+ * Patterns with format types or styles, such as {@code {0,number,#.##}}, are parsed into a {@link MessageFormat} once,
+ * and a copy is used for each rendering.</p>
+ *
+ * <pre><code>
+ContentTemplate template = ContentTemplate.withMimeType(MimeType.TEXT_SUBJECT)
+        .andPattern("Container {0} delivered")
+        .andPattern("Container {0} zugestellt", Locale.GERMAN)
+        .compile();
+
+Contents contents = template.render("MSKU 123456-7");
+   </code></pre>
+ *
+ * <p>Compiled templates are immutable and thread-safe. Rendered values that are blank are ignored, the same way as with
+ * the {@link Contents} builder.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentTemplate {
+
+    private final MimeType[] mimeTypes;
+    private final Locale[] locales;
+    private final Renderer[] renderers;
+
+    private ContentTemplate(List<MimeType> mimeTypes, List<Locale> locales, List<Renderer> renderers) {
+
+        this.mimeTypes = mimeTypes.toArray(new MimeType[0]);
+        this.locales = locales.toArray(new Locale[0]);
+        this.renderers = renderers.toArray(new Renderer[0]);
+    }
+
+    /**
+     * Creates a new template builder, starting it of with the given mime-type.
+     *
+     * @param  mimeType  to start building with
+     *
+     * @return  a new template builder
+     */
+    public static Builder withMimeType(MimeType mimeType) {
+
+        return new Builder(mimeType);
+    }
+
+
+    /**
+     * Renders the given arguments with all patterns of this template.
+     *
+     * @param  args  to render, referenced by index from the patterns
+     *
+     * @return  a new contents instance, with one entry per pattern
+     */
+    public Contents render(Object... args) {
+
+        ArrayList<Content> values = new ArrayList<>(renderers.length);
+        StringBuilder buffer = new StringBuilder(128);
+
+        for (int i = 0; i < renderers.length; i++) {
+            buffer.setLength(0);
+
+            String value = renderers[i].render(args, buffer);
+
+            if (!Contents.isNullOrBlank(value)) {
+                values.add(locales[i] == null ? new Content(mimeTypes[i], value)
+                                              : new Content(mimeTypes[i], value, locales[i]));
+            }
+        }
+
+        return Contents.adopt(values);
+    }
+
+
+    /**
+     * Compiles the given pattern.
+     *
+     * @param  pattern  to compile
+     * @param  locale  for formatting arguments
+     *
+     * @return  a renderer for the pattern
+     *
+     * @throws  IllegalArgumentException  if the pattern is invalid
+     */
+    static Renderer compile(String pattern, Locale locale) {
+
+        MessageFormat format = new MessageFormat(pattern, locale);
+
+        List<Object> segments = new ArrayList<>();
+        StringBuilder literal = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < pattern.length(); i++) {
+            char c = pattern.charAt(i);
+
+            if (c == '\'') {
+                if (i + 1 < pattern.length() && pattern.charAt(i + 1) == '\'') {
+                    literal.append(c);
+                    i++;
+                } else {
+                    quoted = !quoted;
+                }
+            } else if (quoted || c != '{') {
+                literal.append(c);
+            } else {
+                int end = pattern.indexOf('}', i);
+                Integer index = parseIndex(pattern, i + 1, end);
+
+                if (index == null) {
+                    return new MessageFormatRenderer(format);
+                }
+
+                if (literal.length() > 0) {
+                    segments.add(literal.toString());
+                    literal.setLength(0);
+                }
+
+                segments.add(index);
+                i = end;
+            }
+        }
+
+        if (literal.length() > 0) {
+            segments.add(literal.toString());
+        }
+
+        return new SegmentRenderer(segments.toArray(), locale);
+    }
+
+
+    private static Integer parseIndex(String pattern, int start, int end) {
+
+        if (end <= start || end - start > 9) {
+            return null;
+        }
+
+        for (int i = start; i < end; i++) {
+            if (pattern.charAt(i) < '0' || pattern.charAt(i) > '9') {
+                return null;
+            }
+        }
+
+        return Integer.valueOf(pattern.substring(start, end));
+    }
+
+    /**
+     * Compiled, thread-safe pattern.
+     */
+    interface Renderer {
+
+        /**
+         * Renders the given arguments.
+         *
+         * @param  args  to render
+         * @param  buffer  empty buffer, which may be used for rendering
+         *
+         * @return  the rendered value
+         */
+        String render(Object[] args, StringBuilder buffer);
+    }
+
+    /**
+     * Renders a pattern of literal and plain argument segments, formatting arguments like {@link MessageFormat}.
+     * Number and date formats are not thread-safe, and created once per thread and renderer.
+     */
+    private static final class SegmentRenderer implements Renderer {
+
+        private final Object[] segments;
+        private final ThreadLocal<NumberFormat> numberFormat;
+        private final ThreadLocal<DateFormat> dateFormat;
+
+        private SegmentRenderer(Object[] segments, Locale locale) {
+
+            this.segments = segments;
+            this.numberFormat = ThreadLocal.withInitial(() -> NumberFormat.getInstance(locale));
+            this.dateFormat = ThreadLocal.withInitial(() ->
+                        DateFormat.getDateTimeInstance(DateFormat.SHORT, DateFormat.SHORT, locale));
+        }
+
+        @Override
+        public String render(Object[] args, StringBuilder buffer) {
+
+            for (Object segment : segments) {
+                if (segment instanceof String) {
+                    buffer.append((String) segment);
+                } else {
+                    int index = (Integer) segment;
+
+                    if (args == null || index >= args.length) {
+                        buffer.append('{').append(index).append('}');
+                    } else {
+                        append(args[index], buffer);
+                    }
+                }
+            }
+
+            return buffer.toString();
+        }
+
+
+        private void append(Object arg, StringBuilder buffer) {
+
+            if (arg == null) {
+                buffer.append("null");
+            } else if (arg instanceof String) {
+                buffer.append((String) arg);
+            } else if (arg instanceof Number) {
+                buffer.append(numberFormat.get().format(arg));
+            } else if (arg instanceof Date) {
+                buffer.append(dateFormat.get().format(arg));
+            } else {
+                buffer.append(arg);
+            }
+        }
+    }
+
+    /**
+     * Renders a pattern with format types or styles, using a copy of the parsed message format.
+     */
+    private static final class MessageFormatRenderer implements Renderer {
+
+        private final MessageFormat format;
+
+        private MessageFormatRenderer(MessageFormat format) {
+
+            this.format = format;
+        }
+
+        @Override
+        public String render(Object[] args, StringBuilder buffer) {
+
+            return ((MessageFormat) format.clone()).format(args);
+        }
+    }
+
+    /**
+     * Builder for content templates, collecting patterns per mime-type and locale.
+     */
+    public static final class Builder {
+
+        private final List<MimeType> mimeTypes = new ArrayList<>();
+        private final List<Locale> locales = new ArrayList<>();
+        private final List<Renderer> renderers = new ArrayList<>();
+
+        private MimeType mimeType;
+
+        private Builder(MimeType mimeType) {
+
+            this.mimeType = mimeType;
+        }
+
+        /**
+         * Adds a pattern, formatting arguments with the default locale.
+         *
+         * @param  pattern  to add
+         *
+         * @return  this builder
+         *
+         * @throws  IllegalArgumentException  if the pattern is invalid
+         */
+        public Builder andPattern(String pattern) {
+
+            return add(pattern, null, Locale.getDefault(Locale.Category.FORMAT));
+        }
+
+
+        /**
+         * Adds a localized pattern, formatting arguments with the given locale.
+         *
+         * @param  pattern  to add
+         * @param  locale  of the pattern localization/language
+         *
+         * @return  this builder
+         *
+         * @throws  IllegalArgumentException  if the pattern is invalid
+         */
+        public Builder andPattern(String pattern, Locale locale) {
+
+            return add(pattern, locale, locale);
+        }
+
+
+        /**
+         * Continues adding patterns for the given mime type.
+         *
+         * @param  mimeType  of the following patterns
+         *
+         * @return  this builder
+         */
+        public Builder andWithMimeType(MimeType mimeType) {
+
+            this.mimeType = mimeType;
+
+            return this;
+        }
+
+
+        /**
+         * Compiles the patterns into a template.
+         *
+         * @return  the compiled template
+         */
+        public ContentTemplate compile() {
+
+            return new ContentTemplate(mimeTypes, locales, renderers);
+        }
+
+
+        private Builder add(String pattern, Locale locale, Locale formatLocale) {
+
+            mimeTypes.add(mimeType);
+            locales.add(locale);
+            renderers.add(ContentTemplate.compile(pattern, formatLocale));
+
+            return this;
+        }
+    }
+}
@@ -1,14 +1,33 @@
 package net.contargo.content;
 
+import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PushbackInputStream;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collector;
 import java.util.stream.Collectors;
 
 
@@ -21,11 +40,30 @@ import java.util.stream.Collectors;
  */
 public final class Contents {
 
-    private final List<Content> values = new ArrayList<>();
+    /**
+     * Shared mapper, only used for creating the readers and writers below.
+     */
+    static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Shared writer for content entry lists, {@link ObjectWriter} instances are immutable and thread-safe. Targets
+     * given by callers are flushed but never closed.
+     */
+    static final ObjectWriter WRITER = MAPPER.writerFor(new TypeReference<List<Content>>() {
+                }).without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+
+    private static final int DEFAULT_CAPACITY = 10;
 
-    private Contents() {
+    private final List<Content> values;
 
-        // Hidden
+    /**
+     * Lookup index over the current values, built lazily on first lookup and dropped whenever a value is appended.
+     */
+    private Index index;
+
+    private Contents(ArrayList<Content> values) {
+
+        this.values = values;
     }
 
 
@@ -36,19 +74,84 @@ public final class Contents {
      */
     public Contents(List<Content> values) {
 
-        this.values.addAll(Optional.ofNullable(values).orElse(Collections.emptyList()));
+        this.values = new ArrayList<>(Optional.ofNullable(values).orElse(Collections.emptyList()));
     }
 
     /**
      * Creates a new contents builder, starting it of with the given mime-type.
      *
+     * <p>The builder is mutable: each chained call appends to, and returns, the same builder instance.</p>
+     *
      * @param  mimeType  to start building with
      *
      * @return  a new contents builder instance
      */
     public static Builder withMimeType(MimeType mimeType) {
 
-        return new ContentBuilder(mimeType, new Contents());
+        return withMimeType(mimeType, DEFAULT_CAPACITY);
+    }
+
+
+    /**
+     * Creates a new contents builder, starting it of with the given mime-type, presized for the expected number of
+     * content entries.
+     *
+     * @param  mimeType  to start building with
+     * @param  expectedSize  number of content entries expected to be added
+     *
+     * @return  a new contents builder instance
+     *
+     * @since  0.5
+     */
+    public static Builder withMimeType(MimeType mimeType, int expectedSize) {
+
+        return new ContentBuilder(mimeType, new Contents(new ArrayList<Content>(expectedSize)));
+    }
+
+
+    /**
+     * Returns a collector, gathering content entries into a new contents instance, in encounter order.
+     *
+     * <p>The collector supports parallel streams: each thread gathers a partial list, and partial lists are
+     * concatenated in encounter order, so the result is deterministic.</p>
+     *
+     * @return  a contents collector
+     *
+     * @since  0.5
+     */
+    public static Collector<Content, ?, Contents> toContents() {
+
+        return Collector.of(ArrayList<Content>::new, ArrayList::add, (left, right) -> {
+                    left.addAll(right);
+
+                    return left;
+                }, Contents::adopt);
+    }
+
+
+    /**
+     * Creates a new contents instance, taking ownership of the given list of values.
+     *
+     * @param  values  of the new instance
+     *
+     * @return  a new contents instance
+     */
+    static Contents adopt(ArrayList<Content> values) {
+
+        return new Contents(values);
+    }
+
+
+    /**
+     * Returns the content entries of this instance.
+     *
+     * @return  an unmodifiable list of content entries
+     *
+     * @since  0.5
+     */
+    public List<Content> asList() {
+
+        return Collections.unmodifiableList(this.values);
     }
 
 
@@ -65,8 +168,9 @@ public final class Contents {
     @SuppressWarnings("unchecked")
     public <T> T forMimeType(MimeType mimeType) {
 
-        return (T) this.values.stream().filter(c -> c.forMimeType(mimeType)).findFirst().map(Content::getContent)
-            .orElse(null);
+        Content content = index().first(mimeType);
+
+        return content == null ? null : (T) content.getContent();
     }
 
 
@@ -84,9 +188,191 @@ public final class Contents {
     @SuppressWarnings("unchecked")
     public <T> T forMimeTypeAndLocale(MimeType mimeType, Locale locale) {
 
-        return (T) this.values.stream().filter(c -> c.forMimeTypeAndLocale(mimeType, locale)).findFirst()
-            .map(Content::getContent)
-            .orElse(null);
+        Content content = index().first(mimeType, locale.getLanguage());
+
+        return content == null ? null : (T) content.getContent();
+    }
+
+
+    /**
+     * Retrieves all content entries with a mime type matching the given pattern, in order.
+     *
+     * <p>Each distinct mime type of this instance is matched once against the pattern, using its parsed parts, and the
+     * entries are taken from the lookup index.</p>
+     *
+     * @param  pattern  to match mime types with
+     *
+     * @return  an unmodifiable list of the matching entries, empty if there are none
+     *
+     * @since  0.5
+     */
+    public List<Content> query(MimeTypePattern pattern) {
+
+        return index().query(pattern, this.values);
+    }
+
+
+    /**
+     * Freezes the content entries of this instance, computing their JSON representation once.
+     *
+     * @return  the frozen contents
+     *
+     * @since  0.5
+     */
+    public FrozenContents freeze() {
+
+        return FrozenContents.of(this.values);
+    }
+
+
+    /**
+     * Appends the given content entry, invalidating any previously built lookup index.
+     *
+     * @param  content  to append
+     */
+    private void append(Content content) {
+
+        this.values.add(content);
+        this.index = null;
+    }
+
+
+    /**
+     * Checks for {@code null} or blank values, using the same definition of blank as {@link String#trim()}, but without
+     * creating a trimmed copy.
+     *
+     * @param  value  to check
+     *
+     * @return  {@code true} if the value is {@code null} or blank, otherwise {@code false}
+     */
+    static boolean isNullOrBlank(String value) {
+
+        if (value == null) {
+            return true;
+        }
+
+        for (int i = 0, length = value.length(); i < length; i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    /**
+     * Returns the lookup index for the current values, building it if required.
+     *
+     * <p>The index is immutable once built, so a racing rebuild from another thread is harmless.</p>
+     *
+     * @return  the lookup index, never {@code null}
+     */
+    private Index index() {
+
+        Index current = this.index;
+
+        if (current == null) {
+            current = new Index(this.values);
+            this.index = current;
+        }
+
+        return current;
+    }
+
+    /**
+     * Immutable lookup index, mapping mime types and languages to the first matching content entry.
+     *
+     * <p>Only the first entry for each key is indexed, which keeps the semantics of a linear first-match scan over the
+     * values.</p>
+     */
+    private static final class Index {
+
+        private final Map<MimeType, Content> byMimeType;
+        private final Map<MimeType, Map<String, Content>> byMimeTypeAndLanguage;
+
+        /**
+         * Entries grouped by mime type, built on the first query only, and published racily like the index itself,
+         * through the final field of an unmodifiable map.
+         */
+        private Map<MimeType, List<Content>> groups;
+
+        private Index(List<Content> values) {
+
+            this.byMimeType = new HashMap<>();
+            this.byMimeTypeAndLanguage = new HashMap<>();
+
+            for (Content content : values) {
+                MimeType mimeType = content.mimeType();
+                byMimeType.putIfAbsent(mimeType, content);
+
+                Locale locale = content.getLocale();
+
+                if (locale != null) {
+                    byMimeTypeAndLanguage.computeIfAbsent(mimeType, k -> new HashMap<>())
+                        .putIfAbsent(locale.getLanguage(), content);
+                }
+            }
+        }
+
+        private Content first(MimeType mimeType) {
+
+            return byMimeType.get(mimeType);
+        }
+
+
+        private Content first(MimeType mimeType, String language) {
+
+            Map<String, Content> byLanguage = byMimeTypeAndLanguage.get(mimeType);
+
+            return byLanguage == null ? null : byLanguage.get(language);
+        }
+
+
+        private List<Content> query(MimeTypePattern pattern, List<Content> values) {
+
+            Map<MimeType, List<Content>> grouped = groups;
+
+            if (grouped == null) {
+                grouped = Collections.unmodifiableMap(values.stream()
+                        .collect(Collectors.groupingBy(Content::mimeType, LinkedHashMap::new,
+                                    Collectors.collectingAndThen(Collectors.toList(),
+                                        Collections::unmodifiableList))));
+                groups = grouped;
+            }
+
+            List<Content> matched = null;
+            Set<MimeType> mimeTypes = null;
+
+            for (Map.Entry<MimeType, List<Content>> group : grouped.entrySet()) {
+                if (!pattern.matches(group.getKey())) {
+                    continue;
+                }
+
+                if (matched == null) {
+                    matched = group.getValue();
+                } else {
+                    mimeTypes = mimeTypes == null ? new HashSet<>() : mimeTypes;
+                    mimeTypes.add(group.getKey());
+                }
+            }
+
+            if (mimeTypes == null) {
+                return matched == null ? Collections.emptyList() : matched;
+            }
+
+            mimeTypes.add(matched.get(0).mimeType());
+
+            List<Content> result = new ArrayList<>();
+
+            for (Content content : values) {
+                if (mimeTypes.contains(content.mimeType())) {
+                    result.add(content);
+                }
+            }
+
+            return Collections.unmodifiableList(result);
+        }
     }
 
     /**
@@ -126,6 +412,63 @@ public final class Contents {
          * @return  a buildable builder
          */
         Buildable andValue(byte[] value);
+
+
+        /**
+         * Add a binary value to the builder, read from the given stream.
+         *
+         * <p>The stream is consumed once, and closed afterwards. Serializing the built contents, before accessing the
+         * value, encodes it while it is read from the stream, without loading it onto the heap. Accessing the value
+         * reads the stream fully and keeps the bytes. Once serialized, the value can neither be accessed nor
+         * serialized again, and building the contents again fails with an {@link IllegalStateException}. An empty
+         * stream is skipped, like an empty byte array.</p>
+         *
+         * <p>The default implementation reads the stream fully, and adds the bytes with {@link #andValue(byte[])}.
+         * </p>
+         *
+         * @param  value  stream to read the value from
+         *
+         * @return  a buildable builder
+         *
+         * @throws  UncheckedIOException  if reading the stream fails
+         *
+         * @since  0.5
+         */
+        default Buildable andValue(InputStream value) {
+
+            if (value == null) {
+                return andValue((byte[]) null);
+            }
+
+            try(InputStream in = value) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+
+                for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                    out.write(buffer, 0, n);
+                }
+
+                return andValue(out.toByteArray());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read binary content stream", e);
+            }
+        }
+
+
+        /**
+         * Add a binary value to the builder, read from the given channel.
+         *
+         * @param  value  channel to read the value from
+         *
+         * @return  a buildable builder
+         *
+         * @see  #andValue(InputStream)
+         * @since  0.5
+         */
+        default Buildable andValue(ReadableByteChannel value) {
+
+            return andValue(value == null ? null : Channels.newInputStream(value));
+        }
     }
 
     /**
@@ -177,92 +520,175 @@ public final class Contents {
          * @return  a JSON string
          */
         String asJSON();
-    }
 
-    private static final class ContentBuilder implements Buildable {
-
-        private final Contents contents;
-        private final MimeType mimeType;
 
-        private ContentBuilder(MimeType mimeType, Contents contents) {
+        /**
+         * Writes the resulting content as UTF-8 encoded JSON to the given output stream.
+         *
+         * <p>The stream is flushed, but not closed. The default implementation writes the entries of
+         * {@link #asList()}.</p>
+         *
+         * @param  out  to write to
+         *
+         * @throws  IOException  if writing to the stream fails
+         *
+         * @since  0.5
+         */
+        default void asJSON(OutputStream out) throws IOException {
 
-            this.mimeType = mimeType;
-            this.contents = contents;
+            WRITER.writeValue(out, asList());
         }
 
 
-        private ContentBuilder(ContentBuilder contentBuilder, String value) {
-
-            this.mimeType = contentBuilder.mimeType;
-            this.contents = contentBuilder.contents;
+        /**
+         * Writes the resulting content as JSON to the given writer.
+         *
+         * <p>The writer is flushed, but not closed. The default implementation writes the entries of
+         * {@link #asList()}.</p>
+         *
+         * @param  writer  to write to
+         *
+         * @throws  IOException  if writing to the writer fails
+         *
+         * @since  0.5
+         */
+        default void asJSON(Writer writer) throws IOException {
 
-            Content content = new Content(this.mimeType.getMimeType(), value);
-            this.contents.values.add(content);
+            WRITER.writeValue(writer, asList());
         }
 
 
-        public ContentBuilder(ContentBuilder contentBuilder, byte[] value) {
+        /**
+         * Builds the resulting content in the compact binary format of {@link ContentsCodec}.
+         *
+         * @return  the encoded bytes
+         *
+         * @since  0.5
+         */
+        default byte[] asBinary() {
+
+            return ContentsCodec.encode(asList());
+        }
 
-            this.mimeType = contentBuilder.mimeType;
-            this.contents = contentBuilder.contents;
 
-            Content content = new Content(this.mimeType.getMimeType(), value);
-            this.contents.values.add(content);
+        /**
+         * Writes the resulting content in the compact binary format of {@link ContentsCodec} to the given output
+         * stream, which is not closed.
+         *
+         * @param  out  to write to
+         *
+         * @throws  IOException  if writing to the stream fails
+         *
+         * @since  0.5
+         */
+        default void asBinary(OutputStream out) throws IOException {
+
+            ContentsCodec.encode(asList(), out);
         }
+    }
 
+    /**
+     * Mutable builder, appending entries in place and returning itself from each chained call.
+     */
+    private static final class ContentBuilder implements Buildable {
 
-        private ContentBuilder(ContentBuilder contentBuilder, String value, Locale locale) {
+        private final Contents contents;
+        private MimeType mimeType;
 
-            this.mimeType = contentBuilder.mimeType;
-            this.contents = contentBuilder.contents;
+        /**
+         * Whether values were added from streams, which are consumed when serialized.
+         */
+        private boolean streamed;
 
-            Content content = new Content(this.mimeType.getMimeType(), value, locale);
-            this.contents.values.add(content);
+        private ContentBuilder(MimeType mimeType, Contents contents) {
+
+            this.mimeType = mimeType;
+            this.contents = contents;
         }
 
         @Override
         public Buildable andValue(String value) {
 
-            return isNullOrEmpty(value) ? this : new ContentBuilder(this, value);
-        }
-
-
-        private boolean isNullOrEmpty(String value) {
+            if (!isNullOrBlank(value)) {
+                this.contents.append(new Content(this.mimeType, value));
+            }
 
-            return value == null || value.trim().isEmpty();
+            return this;
         }
 
 
         @Override
         public Buildable andValue(byte[] value) {
 
-            return isNullOrSizeZero(value) ? this : new ContentBuilder(this, value);
+            if (!isNullOrSizeZero(value)) {
+                this.contents.append(new Content(this.mimeType, value));
+            }
+
+            return this;
         }
 
 
-        private boolean isNullOrSizeZero(byte[] value) {
+        private static boolean isNullOrSizeZero(byte[] value) {
 
             return value == null || value.length == 0;
         }
 
 
+        @Override
+        public Buildable andValue(InputStream value) {
+
+            if (value == null) {
+                return this;
+            }
+
+            PushbackInputStream in = new PushbackInputStream(value, 1);
+
+            try {
+                int first = in.read();
+
+                if (first < 0) {
+                    in.close();
+
+                    return this;
+                }
+
+                in.unread(first);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read binary content stream", e);
+            }
+
+            this.contents.append(new Content(this.mimeType, new StreamedBinary(in)));
+            this.streamed = true;
+
+            return this;
+        }
+
+
         @Override
         public Buildable andValue(String value, Locale locale) {
 
-            return isNullOrEmpty(value) ? this : new ContentBuilder(this, value, locale);
+            if (!isNullOrBlank(value)) {
+                this.contents.append(new Content(this.mimeType, value, locale));
+            }
+
+            return this;
         }
 
 
         @Override
         public Builder andWithMimeType(MimeType mimeType) {
 
-            return new ContentBuilder(mimeType, contents);
+            this.mimeType = mimeType;
+
+            return this;
         }
 
 
         @Override
         public List<Content> asList() {
 
+            checkStreams();
+
             return Collections.unmodifiableList(new ArrayList<>(this.contents.values));
         }
 
@@ -270,18 +696,140 @@ public final class Contents {
         @Override
         public List<Map<String, Object>> asMap() {
 
-            return this.contents.values.stream().map(Content::asMap).collect(Collectors.toList());
+            checkStreams();
+
+            ContentsListener listener = ContentsInstrumentation.listener();
+            long start = start(listener);
+
+            List<Map<String, Object>> maps = this.contents.values.stream()
+                    .map(Content::asMap)
+                    .collect(Collectors.toList());
+
+            report(listener, ContentsListener.Operation.MAP, -1, start);
+
+            return maps;
         }
 
 
         @Override
         public String asJSON() {
 
+            checkStreams();
+
+            ContentsListener listener = ContentsInstrumentation.listener();
+            long start = start(listener);
+
             try {
-                return new ObjectMapper().writeValueAsString(asMap());
+                String json = WRITER.writeValueAsString(this.contents.values);
+                report(listener, ContentsListener.Operation.JSON, json.length(), start);
+
+                return json;
             } catch (JsonProcessingException e) {
                 throw new RuntimeException("Could not write contents as JSON string", e);
             }
         }
+
+
+        @Override
+        public void asJSON(OutputStream out) throws IOException {
+
+            checkStreams();
+
+            ContentsListener listener = ContentsInstrumentation.listener();
+
+            if (listener == ContentsListener.NOOP) {
+                WRITER.writeValue(out, this.contents.values);
+
+                return;
+            }
+
+            long start = start(listener);
+            CountingOutputStream counting = new CountingOutputStream(out);
+            WRITER.writeValue(counting, this.contents.values);
+            report(listener, ContentsListener.Operation.JSON, counting.getCount(), start);
+        }
+
+
+        @Override
+        public void asJSON(Writer writer) throws IOException {
+
+            checkStreams();
+
+            ContentsListener listener = ContentsInstrumentation.listener();
+            long start = start(listener);
+
+            WRITER.writeValue(writer, this.contents.values);
+            report(listener, ContentsListener.Operation.JSON, -1, start);
+        }
+
+
+        @Override
+        public byte[] asBinary() {
+
+            checkStreams();
+
+            ContentsListener listener = ContentsInstrumentation.listener();
+            long start = start(listener);
+
+            byte[] bytes = ContentsCodec.encode(this.contents.values);
+            report(listener, ContentsListener.Operation.BINARY, bytes.length, start);
+
+            return bytes;
+        }
+
+
+        @Override
+        public void asBinary(OutputStream out) throws IOException {
+
+            checkStreams();
+
+            ContentsListener listener = ContentsInstrumentation.listener();
+
+            if (listener == ContentsListener.NOOP) {
+                ContentsCodec.encode(this.contents.values, out);
+
+                return;
+            }
+
+            long start = start(listener);
+            CountingOutputStream counting = new CountingOutputStream(out);
+            ContentsCodec.encode(this.contents.values, counting);
+            report(listener, ContentsListener.Operation.BINARY, counting.getCount(), start);
+        }
+
+
+        /**
+         * Rejects building again, once a value added from a stream has been consumed by serialization.
+         */
+        private void checkStreams() {
+
+            if (!streamed) {
+                return;
+            }
+
+            for (Content content : this.contents.values) {
+                Object value = content.rawContent();
+
+                if (value instanceof StreamedBinary && ((StreamedBinary) value).isConsumed()) {
+                    throw new IllegalStateException("Contents with binary values added from a stream can only be "
+                        + "built once after serializing them, the streams have been consumed");
+                }
+            }
+        }
+
+
+        private static long start(ContentsListener listener) {
+
+            return listener == ContentsListener.NOOP ? 0L : System.nanoTime();
+        }
+
+
+        private void report(ContentsListener listener, ContentsListener.Operation operation, long size, long start) {
+
+            if (listener != ContentsListener.NOOP) {
+                listener.serialized(operation, Collections.unmodifiableList(this.contents.values), size,
+                    System.nanoTime() - start);
+            }
+        }
     }
 }
@@ -0,0 +1,103 @@
+package net.contargo.content;
+
+import java.util.ArrayList;
+import java.util.Locale;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+
+/**
+ * Thread-safe accumulator of content entries, which may be shared by several threads adding entries concurrently.
+ *
+ * <p>Entries are added without locking. Empty values are ignored, the same way as with the {@link Contents} builder.
+ * Entries appear in the order their additions completed, which is not deterministic across threads - use
+ * {@link Contents#toContents()} with a stream where a deterministic order is required.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentsAccumulator {
+
+    private final Queue<Content> entries = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Adds a text value.
+     *
+     * @param  mimeType  of the value
+     * @param  value  to add
+     *
+     * @return  this accumulator
+     */
+    public ContentsAccumulator add(MimeType mimeType, String value) {
+
+        if (!Contents.isNullOrBlank(value)) {
+            entries.add(new Content(mimeType, value));
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Adds a localized text value.
+     *
+     * @param  mimeType  of the value
+     * @param  value  to add
+     * @param  locale  of the value localization/language
+     *
+     * @return  this accumulator
+     */
+    public ContentsAccumulator add(MimeType mimeType, String value, Locale locale) {
+
+        if (!Contents.isNullOrBlank(value)) {
+            entries.add(new Content(mimeType, value, locale));
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Adds a binary value.
+     *
+     * @param  mimeType  of the value
+     * @param  value  to add
+     *
+     * @return  this accumulator
+     */
+    public ContentsAccumulator add(MimeType mimeType, byte[] value) {
+
+        if (value != null && value.length > 0) {
+            entries.add(new Content(mimeType, value));
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Adds a content entry.
+     *
+     * @param  content  to add
+     *
+     * @return  this accumulator
+     */
+    public ContentsAccumulator add(Content content) {
+
+        if (content != null) {
+            entries.add(content);
+        }
+
+        return this;
+    }
+
+
+    /**
+     * Returns a new contents instance, with a snapshot of the entries accumulated so far.
+     *
+     * @return  a new contents instance
+     */
+    public Contents toContents() {
+
+        return Contents.adopt(new ArrayList<>(entries));
+    }
+}
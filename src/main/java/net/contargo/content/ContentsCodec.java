@@ -0,0 +1,412 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+
+/**
+ * Compact binary encoding of COLA Common Content, an alternative to JSON for transfer between services.
+ *
+ * <p>The format holds the same model as the JSON representation. Mime types and locales are dictionary-encoded: the
+ * well-known {@link MimeType} constants and a set of common locales are predefined, and any other value is written
+ * once per document and referenced by index afterwards. Text is UTF-8 encoded and binary content is written as raw
+ * bytes, without Base64 encoding. All lengths and indexes are unsigned variable-length integers.</p>
+ *
+ * <pre><code>
+document := 0xCC version count entry*
+entry    := mimeType locale content
+mimeType := 0 length utf8 | index + 1
+locale   := 0 | 1 length utf8 | index + 2
+content  := 0 length utf8 | 1 length bytes | 2
+   </code></pre>
+ *
+ * <p>NOTE: The predefined dictionaries are part of the format, they may only ever be appended to, in a new format
+ * version.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentsCodec {
+
+    private static final int DEFAULT_MAXIMUM_LENGTH = 16 * 1024 * 1024;
+
+    private static final int MAGIC = 0xCC;
+    private static final int VERSION = 1;
+
+    private static final int LITERAL = 0;
+    private static final int LOCALE_ABSENT = 0;
+    private static final int LOCALE_LITERAL = 1;
+
+    private static final int TEXT = 0;
+    private static final int BINARY = 1;
+    private static final int NULL = 2;
+
+    private static final List<MimeType> MIME_TYPES = Collections.unmodifiableList(Arrays.asList(MimeType.TEXT_SUBJECT,
+                MimeType.TEXT_DESCRIPTION, MimeType.TEXT_BODY, MimeType.TEXT_APPICON, MimeType.IMAGE_APPICON));
+
+    private static final List<Locale> LOCALES = Collections.unmodifiableList(Arrays.asList(Locale.ENGLISH,
+                Locale.GERMAN, Locale.FRENCH, Locale.ITALIAN, new Locale("nl"), new Locale("pl"), new Locale("es"),
+                new Locale("sv"), new Locale("cs"), new Locale("da")));
+
+    private ContentsCodec() {
+
+        // Hidden
+    }
+
+    /**
+     * Encodes the given content entries.
+     *
+     * @param  contents  to encode
+     *
+     * @return  the encoded bytes
+     */
+    public static byte[] encode(List<Content> contents) {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try {
+            encode(contents, out);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not encode contents", e);
+        }
+
+        return out.toByteArray();
+    }
+
+
+    /**
+     * Encodes the given content entries to the given output stream, which is not closed.
+     *
+     * @param  contents  to encode
+     * @param  out  to write to
+     *
+     * @throws  IOException  if writing to the stream fails
+     */
+    public static void encode(List<Content> contents, OutputStream out) throws IOException {
+
+        Dictionary<MimeType> mimeTypes = new Dictionary<>(MIME_TYPES);
+        Dictionary<Locale> locales = new Dictionary<>(LOCALES);
+
+        out.write(MAGIC);
+        out.write(VERSION);
+        writeVarInt(out, contents.size());
+
+        for (Content content : contents) {
+            MimeType mimeType = content.mimeType();
+            int mimeTypeIndex = mimeTypes.indexOf(mimeType);
+
+            if (mimeTypeIndex < 0) {
+                writeVarInt(out, LITERAL);
+                writeBytes(out, mimeType.getMimeType().getBytes(StandardCharsets.UTF_8));
+            } else {
+                writeVarInt(out, mimeTypeIndex + 1);
+            }
+
+            Locale locale = content.getLocale();
+            int localeIndex = locale == null ? -1 : locales.indexOf(locale);
+
+            if (locale == null) {
+                writeVarInt(out, LOCALE_ABSENT);
+            } else if (localeIndex < 0) {
+                writeVarInt(out, LOCALE_LITERAL);
+                writeBytes(out, locale.toString().getBytes(StandardCharsets.UTF_8));
+            } else {
+                writeVarInt(out, localeIndex + 2);
+            }
+
+            Object value = content.getContent();
+
+            if (value == null) {
+                out.write(NULL);
+            } else if (value instanceof String) {
+                out.write(TEXT);
+                writeBytes(out, ((String) value).getBytes(StandardCharsets.UTF_8));
+            } else if (value instanceof byte[]) {
+                out.write(BINARY);
+                writeBytes(out, (byte[]) value);
+            } else {
+                throw new IllegalArgumentException("Unsupported content value type: " + value.getClass().getName());
+            }
+        }
+    }
+
+
+    /**
+     * Decodes content entries from the given bytes.
+     *
+     * @param  bytes  to decode
+     *
+     * @return  the decoded content entries
+     *
+     * @throws  IOException  if the bytes are not a valid encoding
+     */
+    public static List<Content> decode(byte[] bytes) throws IOException {
+
+        return decode(new ByteArrayInputStream(bytes), Integer.MAX_VALUE, true);
+    }
+
+
+    /**
+     * Decodes content entries from the remaining bytes of the given buffer, advancing its position past the encoded
+     * document. Bytes are read directly from the buffer, without copying it first.
+     *
+     * @param  buffer  to decode
+     *
+     * @return  the decoded content entries
+     *
+     * @throws  IOException  if the bytes are not a valid encoding
+     */
+    public static List<Content> decode(ByteBuffer buffer) throws IOException {
+
+        return decode(new ByteBufferBackedInputStream(buffer), Integer.MAX_VALUE, true);
+    }
+
+
+    /**
+     * Decodes one document of content entries from the given input stream, which is not closed. Single values are
+     * limited to 16 MiB.
+     *
+     * @param  in  to read from
+     *
+     * @return  the decoded content entries
+     *
+     * @throws  IOException  if reading fails or the stream is not a valid encoding
+     */
+    public static List<Content> decode(InputStream in) throws IOException {
+
+        return decode(in, DEFAULT_MAXIMUM_LENGTH);
+    }
+
+
+    /**
+     * Decodes one document of content entries from the given input stream, which is not closed.
+     *
+     * <p>Encoded lengths are checked against the given maximum before allocating, so that corrupt or malicious input
+     * can not exhaust the heap.</p>
+     *
+     * @param  in  to read from
+     * @param  maximumLength  in bytes, of a single encoded mime type, locale or content value
+     *
+     * @return  the decoded content entries
+     *
+     * @throws  IOException  if reading fails, the stream is not a valid encoding, or a value exceeds the maximum
+     *                       length
+     */
+    public static List<Content> decode(InputStream in, int maximumLength) throws IOException {
+
+        return decode(in, maximumLength, false);
+    }
+
+
+    /**
+     * Decodes a document, from input of known size if {@code sized}, where the available bytes are the remaining
+     * input.
+     */
+    private static List<Content> decode(InputStream in, int maximumLength, boolean sized) throws IOException {
+
+        DataInputStream data = new DataInputStream(in);
+
+        int magic = data.read();
+
+        if (magic != MAGIC) {
+            throw new IOException("Not an encoded contents document, unexpected header: " + magic);
+        }
+
+        int version = data.readUnsignedByte();
+
+        if (version != VERSION) {
+            throw new IOException("Unsupported encoded contents version: " + version);
+        }
+
+        List<MimeType> mimeTypes = new ArrayList<>(MIME_TYPES);
+        List<Locale> locales = new ArrayList<>(LOCALES);
+
+        int size = readVarInt(data);
+        List<Content> contents = new ArrayList<>(Math.min(size, 1024));
+
+        for (int i = 0; i < size; i++) {
+            int mimeTypeRef = readVarInt(data);
+            final MimeType mimeType;
+
+            if (mimeTypeRef == LITERAL) {
+                mimeType = MimeType.valueOf(new String(readBytes(data, maximumLength, sized), StandardCharsets.UTF_8));
+                mimeTypes.add(mimeType);
+            } else {
+                mimeType = lookup(mimeTypes, mimeTypeRef - 1);
+            }
+
+            int localeRef = readVarInt(data);
+            final Locale locale;
+
+            if (localeRef == LOCALE_ABSENT) {
+                locale = null;
+            } else if (localeRef == LOCALE_LITERAL) {
+                byte[] bytes = readBytes(data, maximumLength, sized);
+                locale = ContentDeserializer.parseLocale(new String(bytes, StandardCharsets.UTF_8));
+                locales.add(locale);
+            } else {
+                locale = lookup(locales, localeRef - 2);
+            }
+
+            int tag = data.readUnsignedByte();
+            final Object value;
+
+            switch (tag) {
+                case TEXT:
+                    value = new String(readBytes(data, maximumLength, sized), StandardCharsets.UTF_8);
+                    break;
+
+                case BINARY:
+                    value = readBytes(data, maximumLength, sized);
+                    break;
+
+                case NULL:
+                    value = null;
+                    break;
+
+                default:
+                    throw new IOException("Unknown content tag: " + tag);
+            }
+
+            contents.add(locale == null ? new Content(mimeType, value) : new Content(mimeType, value, locale));
+        }
+
+        return contents;
+    }
+
+
+    private static <T> T lookup(List<T> dictionary, int index) throws IOException {
+
+        if (index >= dictionary.size()) {
+            throw new IOException("Invalid dictionary reference: " + index);
+        }
+
+        return dictionary.get(index);
+    }
+
+
+    private static void writeBytes(OutputStream out, byte[] bytes) throws IOException {
+
+        writeVarInt(out, bytes.length);
+        out.write(bytes);
+    }
+
+
+    private static byte[] readBytes(DataInputStream in, int maximumLength, boolean sized) throws IOException {
+
+        int length = readVarInt(in);
+
+        if (length > maximumLength) {
+            throw new IOException("Encoded length " + length + " exceeds the maximum of " + maximumLength);
+        }
+
+        if (sized && length > in.available()) {
+            throw new EOFException("Encoded length " + length + " exceeds the remaining input");
+        }
+
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+
+        return bytes;
+    }
+
+
+    private static void writeVarInt(OutputStream out, int value) throws IOException {
+
+        int remaining = value;
+
+        while ((remaining & ~0x7F) != 0) {
+            out.write((remaining & 0x7F) | 0x80);
+            remaining >>>= 7;
+        }
+
+        out.write(remaining);
+    }
+
+
+    private static int readVarInt(InputStream in) throws IOException {
+
+        int value = 0;
+
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.read();
+
+            if (b < 0) {
+                throw new EOFException("Unexpected end of encoded contents");
+            }
+
+            if (shift == 28 && (b & 0xF0) != 0) {
+                throw new IOException("Malformed variable-length integer, exceeding 32 bits");
+            }
+
+            value |= (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Invalid length or index: " + value);
+                }
+
+                return value;
+            }
+        }
+
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    /**
+     * Encoding side dictionary, assigning indexes in the order values are first added.
+     */
+    private static final class Dictionary<T> {
+
+        private final Map<T, Integer> indexes = new HashMap<>();
+
+        private Dictionary(List<T> predefined) {
+
+            predefined.forEach(this::add);
+        }
+
+        /**
+         * Returns the index of the given value, adding it for following calls if not found.
+         *
+         * @param  value  to look up
+         *
+         * @return  the index, or {@code -1} if the value was not found
+         */
+        private int indexOf(T value) {
+
+            Integer index = indexes.get(value);
+
+            if (index == null) {
+                add(value);
+
+                return -1;
+            }
+
+            return index;
+        }
+
+
+        private void add(T value) {
+
+            indexes.putIfAbsent(value, indexes.size());
+        }
+    }
+}
@@ -0,0 +1,531 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+
+
+/**
+ * Difference between two versions of contents, as operations adding, removing and replacing single entries.
+ *
+ * <pre><code>
+ContentsDelta delta = ContentsDelta.between(previous, current);
+String json = delta.asJSON();
+// ... on the receiving side
+Contents current = ContentsDelta.fromJSON(json).apply(previous);
+   </code></pre>
+ *
+ * <p>Entries are identified by their mime type, locale and occurrence, counting entries with the same mime type and
+ * locale in order. Removals and replacements refer to entries of the previous version by this key, additions carry
+ * their position in the new version. Entries that changed their position relative to the others are removed and added
+ * again, so that applying a delta restores the new version exactly, including the order of the entries. The size of
+ * a delta, and of its JSON form, scales with the size of the change, not the size of the document.</p>
+ *
+ * <p>A delta carries a fingerprint of the previous version, its number of entries and the hash code of its entries,
+ * and is only applied to contents with the same fingerprint. Computing the hash code decodes binary and decompresses
+ * compressed entries, and entries with binary values added from a stream never match, as they are compared by
+ * identity.</p>
+ *
+ * <p>The JSON form holds the fingerprint and an array of operations, each holding changed entries in the JSON form of
+ * {@link Content}:</p>
+ *
+ * <pre><code>
+{"baseSize":7,"baseHash":-1718536452,"operations":[
+ {"op":"remove","mimeType":"text/vnd.contargo.subject","locale":"fr","occurrence":0},
+ {"op":"replace","occurrence":0,"entry":{"mimeType":"text/vnd.contargo.subject","locale":"de","content":"Hallo"}},
+ {"op":"add","index":2,"entry":{"mimeType":"text/vnd.contargo.subject","locale":"sv","content":"Hej"}}]}
+   </code></pre>
+ *
+ * @since  0.5
+ */
+@JsonSerialize(using = ContentsDeltaSerializer.class)
+@JsonDeserialize(using = ContentsDeltaDeserializer.class)
+public final class ContentsDelta {
+
+    private static final ObjectReader READER = Contents.MAPPER.readerFor(ContentsDelta.class)
+            .with(DeserializationFeature.FAIL_ON_TRAILING_TOKENS);
+
+    private final int baseSize;
+    private final int baseHash;
+    private final List<Operation> operations;
+
+    ContentsDelta(int baseSize, int baseHash, List<Operation> operations) {
+
+        this.baseSize = baseSize;
+        this.baseHash = baseHash;
+        this.operations = operations;
+    }
+
+    /**
+     * Computes the delta from one version of contents to another.
+     *
+     * @param  from  previous version
+     * @param  to  new version
+     *
+     * @return  the delta turning the previous into the new version
+     */
+    public static ContentsDelta between(Contents from, Contents to) {
+
+        List<Content> source = from.asList();
+        List<Content> target = to.asList();
+
+        Key[] sourceKeys = keys(source);
+        Key[] targetKeys = keys(target);
+
+        Map<Key, Integer> targetIndexes = new HashMap<>(targetKeys.length * 2);
+
+        for (int i = 0; i < targetKeys.length; i++) {
+            targetIndexes.put(targetKeys[i], i);
+        }
+
+        List<Operation> removals = new ArrayList<>();
+        List<Operation> replacements = new ArrayList<>();
+        boolean[] kept = new boolean[target.size()];
+
+        int[] matched = new int[source.size()];
+        int matches = 0;
+
+        for (int i = 0; i < sourceKeys.length; i++) {
+            Integer targetIndex = targetIndexes.get(sourceKeys[i]);
+
+            if (targetIndex == null) {
+                removals.add(Operation.remove(sourceKeys[i]));
+            } else {
+                matched[matches++] = i;
+            }
+        }
+
+        boolean[] ordered = increasingSubsequence(matched, matches, sourceKeys, targetIndexes);
+
+        for (int m = 0; m < matches; m++) {
+            int i = matched[m];
+            int targetIndex = targetIndexes.get(sourceKeys[i]);
+
+            if (!ordered[m]) {
+                removals.add(Operation.remove(sourceKeys[i]));
+
+                continue;
+            }
+
+            kept[targetIndex] = true;
+
+            if (!source.get(i).equals(target.get(targetIndex))) {
+                replacements.add(Operation.replace(sourceKeys[i].occurrence, target.get(targetIndex)));
+            }
+        }
+
+        List<Operation> operations = new ArrayList<>(removals);
+        operations.addAll(replacements);
+
+        for (int i = 0; i < kept.length; i++) {
+            if (!kept[i]) {
+                operations.add(Operation.add(i, target.get(i)));
+            }
+        }
+
+        return new ContentsDelta(source.size(), source.hashCode(), Collections.unmodifiableList(operations));
+    }
+
+
+    /**
+     * Reads a delta from its JSON form.
+     *
+     * @param  json  to read
+     *
+     * @return  the delta
+     *
+     * @throws  IOException  if the JSON is not a valid delta, or has content after it
+     */
+    public static ContentsDelta fromJSON(String json) throws IOException {
+
+        return READER.readValue(json);
+    }
+
+
+    /**
+     * Applies this delta to the given contents, which must be the previous version it was computed from.
+     *
+     * @param  base  previous version
+     *
+     * @return  the new version
+     *
+     * @throws  IllegalArgumentException  if the given contents differ from the previous version, or the operations
+     *                                     are not consistent with it
+     */
+    public Contents apply(Contents base) {
+
+        List<Content> source = base.asList();
+
+        if (source.size() != baseSize || source.hashCode() != baseHash) {
+            throw new IllegalArgumentException("Delta does not apply, the contents are not the version it was computed "
+                + "from, expected " + baseSize + " entries with hash " + baseHash);
+        }
+
+        Key[] keys = keys(source);
+
+        Map<Key, Integer> indexes = new HashMap<>(keys.length * 2);
+
+        for (int i = 0; i < keys.length; i++) {
+            indexes.put(keys[i], i);
+        }
+
+        Content[] survivors = source.toArray(new Content[0]);
+        List<Operation> additions = new ArrayList<>();
+
+        for (Operation operation : operations) {
+            if (operation.type == Type.ADD) {
+                additions.add(operation);
+
+                continue;
+            }
+
+            Integer index = indexes.get(operation.key());
+
+            if (index == null || survivors[index] == null) {
+                throw new IllegalArgumentException("Delta does not apply, missing entry to " + operation);
+            }
+
+            survivors[index] = operation.type == Type.REMOVE ? null : operation.content;
+        }
+
+        ArrayList<Content> result = new ArrayList<>(source.size() + additions.size());
+        int next = 0;
+
+        for (Operation addition : additions) {
+            while (result.size() < addition.index && next < survivors.length) {
+                if (survivors[next] != null) {
+                    result.add(survivors[next]);
+                }
+
+                next++;
+            }
+
+            if (addition.index != result.size()) {
+                throw new IllegalArgumentException("Delta does not apply, additions must have increasing indexes "
+                    + "within the new version, not " + addition);
+            }
+
+            result.add(addition.content);
+        }
+
+        for (; next < survivors.length; next++) {
+            if (survivors[next] != null) {
+                result.add(survivors[next]);
+            }
+        }
+
+        return Contents.adopt(result);
+    }
+
+
+    /**
+     * Returns whether this delta has no operations, meaning both versions are equal.
+     *
+     * @return  {@code true} if empty, otherwise {@code false}
+     */
+    public boolean isEmpty() {
+
+        return operations.isEmpty();
+    }
+
+
+    /**
+     * Returns the number of entries of the previous version.
+     *
+     * @return  the entry count of the version this delta applies to
+     */
+    int baseSize() {
+
+        return baseSize;
+    }
+
+
+    /**
+     * Returns the hash code of the entries of the previous version.
+     *
+     * @return  the list hash code of the version this delta applies to
+     */
+    int baseHash() {
+
+        return baseHash;
+    }
+
+
+    /**
+     * Returns the operations of this delta: removals and replacements first, then additions by ascending index.
+     *
+     * @return  an unmodifiable list of operations
+     */
+    public List<Operation> getOperations() {
+
+        return operations;
+    }
+
+
+    /**
+     * Returns the JSON form of this delta.
+     *
+     * @return  the JSON string
+     */
+    public String asJSON() {
+
+        try {
+            return Contents.MAPPER.writeValueAsString(this);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not write contents delta as JSON string", e);
+        }
+    }
+
+
+    @Override
+    public String toString() {
+
+        return "ContentsDelta [baseSize=" + baseSize + ", baseHash=" + baseHash + "] " + operations;
+    }
+
+
+    private static Key[] keys(List<Content> values) {
+
+        Key[] keys = new Key[values.size()];
+        Map<Key, Integer> occurrences = new HashMap<>();
+
+        for (int i = 0; i < keys.length; i++) {
+            Content content = values.get(i);
+            Key first = new Key(content.mimeType(), content.getLocale(), 0);
+            int occurrence = occurrences.merge(first, 1, Integer::sum) - 1;
+
+            keys[i] = occurrence == 0 ? first : new Key(first.mimeType, first.locale, occurrence);
+        }
+
+        return keys;
+    }
+
+
+    /**
+     * Marks the longest run of matched entries whose target positions are increasing, which keep their order and
+     * need not be moved.
+     */
+    private static boolean[] increasingSubsequence(int[] matched, int matches, Key[] sourceKeys,
+        Map<Key, Integer> targetIndexes) {
+
+        int[] values = new int[matches];
+
+        for (int m = 0; m < matches; m++) {
+            values[m] = targetIndexes.get(sourceKeys[matched[m]]);
+        }
+
+        int[] tails = new int[matches];
+        int[] previous = new int[matches];
+        int length = 0;
+
+        for (int m = 0; m < matches; m++) {
+            int low = 0;
+            int high = length;
+
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+
+                if (values[tails[mid]] < values[m]) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+
+            previous[m] = low > 0 ? tails[low - 1] : -1;
+            tails[low] = m;
+            length = Math.max(length, low + 1);
+        }
+
+        boolean[] ordered = new boolean[matches];
+
+        for (int m = length > 0 ? tails[length - 1] : -1; m >= 0; m = previous[m]) {
+            ordered[m] = true;
+        }
+
+        return ordered;
+    }
+
+    /**
+     * Types of delta operations.
+     */
+    public enum Type {
+
+        ADD,
+        REMOVE,
+        REPLACE
+    }
+
+    /**
+     * Single operation of a delta.
+     */
+    public static final class Operation {
+
+        private final Type type;
+        private final MimeType mimeType;
+        private final Locale locale;
+        private final int occurrence;
+        private final int index;
+        private final Content content;
+
+        private Operation(Type type, MimeType mimeType, Locale locale, int occurrence, int index, Content content) {
+
+            this.type = type;
+            this.mimeType = mimeType;
+            this.locale = locale;
+            this.occurrence = occurrence;
+            this.index = index;
+            this.content = content;
+        }
+
+        static Operation add(int index, Content content) {
+
+            return new Operation(Type.ADD, content.mimeType(), content.getLocale(), -1, index, content);
+        }
+
+
+        static Operation remove(MimeType mimeType, Locale locale, int occurrence) {
+
+            return new Operation(Type.REMOVE, mimeType, locale, occurrence, -1, null);
+        }
+
+
+        static Operation replace(int occurrence, Content content) {
+
+            return new Operation(Type.REPLACE, content.mimeType(), content.getLocale(), occurrence, -1, content);
+        }
+
+
+        private static Operation remove(Key key) {
+
+            return remove(key.mimeType, key.locale, key.occurrence);
+        }
+
+
+        private Key key() {
+
+            return new Key(mimeType, locale, occurrence);
+        }
+
+
+        /**
+         * Returns the type of this operation.
+         *
+         * @return  the operation type
+         */
+        public Type getType() {
+
+            return type;
+        }
+
+
+        /**
+         * Returns the mime type of the entry.
+         *
+         * @return  the mime type value
+         */
+        public String getMimeType() {
+
+            return mimeType.getMimeType();
+        }
+
+
+        /**
+         * Returns the locale of the entry.
+         *
+         * @return  the locale, or {@code null} if unlocalized
+         */
+        public Locale getLocale() {
+
+            return locale;
+        }
+
+
+        /**
+         * Returns the occurrence of the entry to remove or replace, among the entries with the same mime type and
+         * locale.
+         *
+         * @return  the occurrence, or {@code -1} for additions
+         */
+        public int getOccurrence() {
+
+            return occurrence;
+        }
+
+
+        /**
+         * Returns the position of the added entry in the new version.
+         *
+         * @return  the index, or {@code -1} for removals and replacements
+         */
+        public int getIndex() {
+
+            return index;
+        }
+
+
+        /**
+         * Returns the added or replacing entry.
+         *
+         * @return  the entry, or {@code null} for removals
+         */
+        public Content getContent() {
+
+            return content;
+        }
+
+
+        @Override
+        public String toString() {
+
+            return type + " [mimeType=" + mimeType.getMimeType() + ", locale=" + locale + ", occurrence=" + occurrence
+                + ", index=" + index + "]";
+        }
+    }
+
+    private static final class Key {
+
+        private final MimeType mimeType;
+        private final Locale locale;
+        private final int occurrence;
+
+        Key(MimeType mimeType, Locale locale, int occurrence) {
+
+            this.mimeType = mimeType;
+            this.locale = locale;
+            this.occurrence = occurrence;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return (mimeType.hashCode() * 31 + Objects.hashCode(locale)) * 31 + occurrence;
+        }
+
+
+        @Override
+        public boolean equals(Object obj) {
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return occurrence == other.occurrence && mimeType.equals(other.mimeType)
+                && Objects.equals(locale, other.locale);
+        }
+    }
+}
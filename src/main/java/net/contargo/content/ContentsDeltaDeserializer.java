@@ -0,0 +1,196 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+
+/**
+ * Deserializer for contents deltas, reading the fingerprint and the array of operations written by
+ * {@link ContentsDeltaSerializer}. Added and replacing entries are read with {@link ContentDeserializer}.
+ *
+ * @since  0.5
+ */
+public final class ContentsDeltaDeserializer extends StdDeserializer<ContentsDelta> {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContentsDeltaDeserializer() {
+
+        super(ContentsDelta.class);
+    }
+
+    @Override
+    public ContentsDelta deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+
+        if (p.currentToken() != JsonToken.START_OBJECT) {
+            throw ctxt.wrongTokenException(p, ContentsDelta.class, JsonToken.START_OBJECT, "Expected contents delta");
+        }
+
+        Integer baseSize = null;
+        Integer baseHash = null;
+        List<ContentsDelta.Operation> operations = null;
+        JsonToken token = p.nextToken();
+
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.getCurrentName();
+            JsonToken value = p.nextToken();
+
+            switch (field) {
+                case "baseSize":
+                    baseSize = intValue(p, ctxt, value, field);
+                    break;
+
+                case "baseHash":
+                    baseHash = intValue(p, ctxt, value, field);
+                    break;
+
+                case "operations":
+                    operations = readOperations(p, ctxt);
+                    break;
+
+                default:
+                    p.skipChildren();
+            }
+        }
+
+        if (token != JsonToken.END_OBJECT) {
+            throw ctxt.wrongTokenException(p, ContentsDelta.class, JsonToken.END_OBJECT,
+                "Unexpected token in contents delta");
+        }
+
+        if (baseSize == null || baseHash == null || operations == null) {
+            return ctxt.reportInputMismatch(this,
+                    "Incomplete contents delta, expected baseSize, baseHash and operations");
+        }
+
+        return new ContentsDelta(baseSize, baseHash, Collections.unmodifiableList(operations));
+    }
+
+
+    private List<ContentsDelta.Operation> readOperations(JsonParser p, DeserializationContext ctxt)
+        throws IOException {
+
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            throw ctxt.wrongTokenException(p, ContentsDelta.class, JsonToken.START_ARRAY, "Expected delta operations");
+        }
+
+        List<ContentsDelta.Operation> operations = new ArrayList<>();
+
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            if (token != JsonToken.START_OBJECT) {
+                throw ctxt.wrongTokenException(p, ContentsDelta.class, JsonToken.START_OBJECT,
+                    "Expected delta operation");
+            }
+
+            operations.add(readOperation(p, ctxt));
+        }
+
+        return operations;
+    }
+
+
+    private ContentsDelta.Operation readOperation(JsonParser p, DeserializationContext ctxt) throws IOException {
+
+        String op = null;
+        MimeType mimeType = null;
+        Locale locale = null;
+        int occurrence = -1;
+        int index = -1;
+        Content entry = null;
+        JsonToken token = p.nextToken();
+
+        for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+            String field = p.getCurrentName();
+            JsonToken value = p.nextToken();
+
+            if (value == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            switch (field) {
+                case "op":
+                    op = scalarValue(p, ctxt, value, field);
+                    break;
+
+                case "mimeType":
+                    mimeType = MimeType.valueOf(scalarValue(p, ctxt, value, field));
+                    break;
+
+                case "locale":
+                    locale = ContentDeserializer.parseLocale(scalarValue(p, ctxt, value, field));
+                    break;
+
+                case "occurrence":
+                    occurrence = intValue(p, ctxt, value, field);
+                    break;
+
+                case "index":
+                    index = intValue(p, ctxt, value, field);
+                    break;
+
+                case "entry":
+                    entry = ctxt.readValue(p, Content.class);
+                    break;
+
+                default:
+                    p.skipChildren();
+            }
+        }
+
+        if (token != JsonToken.END_OBJECT) {
+            throw ctxt.wrongTokenException(p, ContentsDelta.class, JsonToken.END_OBJECT,
+                "Unexpected token in delta operation");
+        }
+
+        if ("add".equals(op) && index >= 0 && entry != null) {
+            return ContentsDelta.Operation.add(index, entry);
+        }
+
+        if ("replace".equals(op) && occurrence >= 0 && entry != null) {
+            return ContentsDelta.Operation.replace(occurrence, entry);
+        }
+
+        if ("remove".equals(op) && occurrence >= 0 && mimeType != null) {
+            return ContentsDelta.Operation.remove(mimeType, locale, occurrence);
+        }
+
+        return ctxt.reportInputMismatch(this, "Invalid or incomplete delta operation '%s'", op);
+    }
+
+
+    private String scalarValue(JsonParser p, DeserializationContext ctxt, JsonToken value, String field)
+        throws IOException {
+
+        if (!value.isScalarValue()) {
+            p.skipChildren();
+
+            return ctxt.reportInputMismatch(this, "Contents delta property '%s' must be a scalar value, not %s",
+                    field, value);
+        }
+
+        return p.getValueAsString();
+    }
+
+
+    private int intValue(JsonParser p, DeserializationContext ctxt, JsonToken value, String field)
+        throws IOException {
+
+        if (value != JsonToken.VALUE_NUMBER_INT) {
+            p.skipChildren();
+
+            return ctxt.reportInputMismatch(this, "Contents delta property '%s' must be an integer, not %s", field,
+                    value);
+        }
+
+        return p.getIntValue();
+    }
+}
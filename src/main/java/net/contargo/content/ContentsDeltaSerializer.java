@@ -0,0 +1,64 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+import java.util.Locale;
+
+
+/**
+ * Serializer for contents deltas, writing the fingerprint of the previous version and the operations as an array.
+ * Added and replacing entries are written with {@link ContentSerializer}.
+ *
+ * @since  0.5
+ */
+public final class ContentsDeltaSerializer extends StdSerializer<ContentsDelta> {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContentsDeltaSerializer() {
+
+        super(ContentsDelta.class);
+    }
+
+    @Override
+    public void serialize(ContentsDelta value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        gen.writeStartObject();
+        gen.writeNumberField("baseSize", value.baseSize());
+        gen.writeNumberField("baseHash", value.baseHash());
+        gen.writeArrayFieldStart("operations");
+
+        for (ContentsDelta.Operation operation : value.getOperations()) {
+            gen.writeStartObject();
+            gen.writeStringField("op", operation.getType().name().toLowerCase(Locale.ROOT));
+
+            if (operation.getType() == ContentsDelta.Type.REMOVE) {
+                gen.writeStringField("mimeType", operation.getMimeType());
+
+                if (operation.getLocale() != null) {
+                    gen.writeStringField("locale", operation.getLocale().toString());
+                }
+            }
+
+            if (operation.getType() == ContentsDelta.Type.ADD) {
+                gen.writeNumberField("index", operation.getIndex());
+            } else {
+                gen.writeNumberField("occurrence", operation.getOccurrence());
+            }
+
+            if (operation.getContent() != null) {
+                gen.writeFieldName("entry");
+                provider.findValueSerializer(Content.class).serialize(operation.getContent(), gen, provider);
+            }
+
+            gen.writeEndObject();
+        }
+
+        gen.writeEndArray();
+        gen.writeEndObject();
+    }
+}
@@ -0,0 +1,54 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+
+
+/**
+ * Deserializer for contents, reading an array of entries in the format of {@link Contents.Buildable#asJSON()}.
+ * Entries are read with the deserializer registered for {@link Content}, and entries read as {@code null}, for
+ * example those rejected by a {@link ContentsProjection}, are left out.
+ *
+ * @since  0.5
+ */
+public final class ContentsDeserializer extends StdDeserializer<Contents> {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContentsDeserializer() {
+
+        super(Contents.class);
+    }
+
+    @Override
+    public Contents deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+
+        if (p.currentToken() != JsonToken.START_ARRAY) {
+            throw ctxt.wrongTokenException(p, Contents.class, JsonToken.START_ARRAY, "Expected content entries");
+        }
+
+        JsonDeserializer<Object> deserializer = ctxt.findRootValueDeserializer(ctxt.constructType(Content.class));
+        ArrayList<Content> values = new ArrayList<>();
+
+        for (JsonToken token = p.nextToken(); token != JsonToken.END_ARRAY; token = p.nextToken()) {
+            if (token == JsonToken.VALUE_NULL) {
+                continue;
+            }
+
+            Content content = (Content) deserializer.deserialize(p, ctxt);
+
+            if (content != null) {
+                values.add(content);
+            }
+        }
+
+        return Contents.adopt(values);
+    }
+}
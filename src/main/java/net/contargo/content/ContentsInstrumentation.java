@@ -0,0 +1,37 @@
+package net.contargo.content;
+
+/**
+ * Global registration point for the {@link ContentsListener}.
+ *
+ * @since  0.5
+ */
+public final class ContentsInstrumentation {
+
+    private static volatile ContentsListener listener = ContentsListener.NOOP;
+
+    private ContentsInstrumentation() {
+
+        // Hidden
+    }
+
+    /**
+     * Registers the given listener, replacing any listener registered before.
+     *
+     * @param  contentsListener  to register, or {@code null} to disable instrumentation
+     */
+    public static void register(ContentsListener contentsListener) {
+
+        listener = contentsListener == null ? ContentsListener.NOOP : contentsListener;
+    }
+
+
+    /**
+     * Returns the registered listener.
+     *
+     * @return  the listener, {@link ContentsListener#NOOP} if none is registered
+     */
+    static ContentsListener listener() {
+
+        return listener;
+    }
+}
@@ -0,0 +1,71 @@
+package net.contargo.content;
+
+import java.util.List;
+
+
+/**
+ * Listener for instrumenting the serialization and deserialization of contents.
+ *
+ * <p>Register an implementation with {@link ContentsInstrumentation#register(ContentsListener)}. All methods default
+ * to doing nothing, and are called synchronously on the hot path, so implementations should return quickly and must
+ * be thread-safe. While no listener is registered, instrumented code only checks a single field and neither measures
+ * time nor allocates.</p>
+ *
+ * @since  0.5
+ */
+public interface ContentsListener {
+
+    /**
+     * Listener doing nothing, registered by default.
+     */
+    ContentsListener NOOP = new ContentsListener() {
+    };
+
+    /**
+     * Called after a builder has written its content entries.
+     *
+     * @param  operation  performed
+     * @param  contents  entries written, must not be modified
+     * @param  size  of the output in bytes, in characters for JSON strings, or {@code -1} if unknown
+     * @param  nanos  elapsed
+     */
+    default void serialized(Operation operation, List<Content> contents, long size, long nanos) {
+
+        // Nothing
+    }
+
+
+    /**
+     * Called after a content entry has been read from JSON.
+     *
+     * @param  content  entry read
+     * @param  size  of the entry in the input, in bytes or characters depending on the input, or {@code -1} if
+     *               unknown
+     * @param  nanos  elapsed
+     */
+    default void deserialized(Content content, long size, long nanos) {
+
+        // Nothing
+    }
+
+    /**
+     * Instrumented builder operations.
+     */
+    enum Operation {
+
+        /**
+         * Writing JSON, see {@link Contents.Buildable#asJSON()}.
+         */
+        JSON,
+
+        /**
+         * Creating maps, see {@link Contents.Buildable#asMap()}.
+         */
+        MAP,
+
+        /**
+         * Writing the binary format, see {@link Contents.Buildable#asBinary()}.
+         */
+        BINARY
+    }
+}
@@ -0,0 +1,38 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+
+/**
+ * Jackson module, mapping contents and content entries in the format of {@link Contents.Buildable#asJSON()}.
+ *
+ * <pre><code>
+ObjectMapper mapper = new ObjectMapper().registerModule(new ContentsModule());
+String json = mapper.writeValueAsString(notification); // with a Contents property, written in a single pass
+   </code></pre>
+ *
+ * <p>Registers {@link ContentsSerializer} and {@link ContentsDeserializer} for {@link Contents}. The serializers and
+ * deserializers otherwise given by annotations, of {@link Content}, {@link ContentsDelta} and the serializer of
+ * {@link FrozenContents}, are registered too, so that mappers configured to ignore annotations write them the same
+ * way. Attributes like {@link ContentCompression}, {@link ContentInterner} or {@link ContentsProjection}, given to
+ * the writers and readers of the mapper, apply to all entries written and read.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentsModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContentsModule() {
+
+        super(ContentsModule.class.getSimpleName());
+
+        addSerializer(Content.class, new ContentSerializer());
+        addDeserializer(Content.class, new ContentDeserializer());
+        addSerializer(Contents.class, new ContentsSerializer());
+        addDeserializer(Contents.class, new ContentsDeserializer());
+        addSerializer(FrozenContents.class, new FrozenContentsSerializer());
+        addSerializer(ContentsDelta.class, new ContentsDeltaSerializer());
+        addDeserializer(ContentsDelta.class, new ContentsDeltaDeserializer());
+    }
+}
@@ -0,0 +1,319 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ * Non-blocking parser for contents documents, fed with chunks of UTF-8 encoded JSON as they arrive.
+ *
+ * <p>Built on the non-blocking parser of Jackson, for use in reactive pipelines. Each call to {@link #feed(ByteBuffer)}
+ * parses as much as the chunk allows, never waiting for more input, and returns everything completed by it:</p>
+ *
+ * <pre><code>
+ContentsParser&lt;Contents&gt; parser = ContentsParser.documents();
+
+// for every chunk received
+for (Contents contents : parser.feed(chunk)) {
+    handle(contents);
+}
+   </code></pre>
+ *
+ * <p>The input may hold any number of JSON arrays of content entries, separated by whitespace, for example as
+ * newline-delimited JSON. Each entry is buffered as tokens until complete, and then read with
+ * {@link ContentDeserializer}. Memory is bounded by the maximum entry size, and when parsing {@link #documents()},
+ * by the size of the entries of the current document. The maximum entry size also bounds any single token outside of
+ * entries. Use {@link #entries()} to get entries as soon as they are parsed, without holding the document.</p>
+ *
+ * <p>Parsers are not thread-safe, chunks must be fed one at a time and in order.</p>
+ *
+ * @param  <T>  type of the parsed results, either {@link Contents} or {@link Content}
+ *
+ * @since  0.5
+ */
+public final class ContentsParser<T> implements Closeable {
+
+    private static final ObjectReader READER = Contents.MAPPER.readerFor(Content.class);
+
+    private static final int DEFAULT_MAXIMUM_ENTRY_SIZE = 16 * 1024 * 1024;
+    private static final int CHUNK_SIZE = 8192;
+
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+    private final boolean documents;
+    private final int maximumEntrySize;
+
+    private byte[] scratch;
+    private long fed;
+    private int depth;
+    private TokenBuffer entry;
+    private long entryStart;
+    private long lastTokenEnd;
+    private ArrayList<Content> document;
+    private List<T> results;
+
+    private ContentsParser(boolean documents, int maximumEntrySize) throws IOException {
+
+        this.parser = Contents.MAPPER.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+        this.documents = documents;
+        this.maximumEntrySize = maximumEntrySize;
+    }
+
+    /**
+     * Creates a parser, returning each contents document once its closing bracket has been parsed.
+     *
+     * @return  a new parser
+     *
+     * @throws  IOException  if the parser could not be created
+     */
+    public static ContentsParser<Contents> documents() throws IOException {
+
+        return documents(DEFAULT_MAXIMUM_ENTRY_SIZE);
+    }
+
+
+    /**
+     * Creates a parser, returning each contents document once its closing bracket has been parsed.
+     *
+     * @param  maximumEntrySize  in bytes, of a single content entry
+     *
+     * @return  a new parser
+     *
+     * @throws  IOException  if the parser could not be created
+     */
+    public static ContentsParser<Contents> documents(int maximumEntrySize) throws IOException {
+
+        return new ContentsParser<>(true, maximumEntrySize);
+    }
+
+
+    /**
+     * Creates a parser, returning each content entry once its closing brace has been parsed.
+     *
+     * @return  a new parser
+     *
+     * @throws  IOException  if the parser could not be created
+     */
+    public static ContentsParser<Content> entries() throws IOException {
+
+        return entries(DEFAULT_MAXIMUM_ENTRY_SIZE);
+    }
+
+
+    /**
+     * Creates a parser, returning each content entry once its closing brace has been parsed.
+     *
+     * @param  maximumEntrySize  in bytes, of a single content entry
+     *
+     * @return  a new parser
+     *
+     * @throws  IOException  if the parser could not be created
+     */
+    public static ContentsParser<Content> entries(int maximumEntrySize) throws IOException {
+
+        return new ContentsParser<>(false, maximumEntrySize);
+    }
+
+
+    /**
+     * Parses the remaining bytes of the given chunk, advancing its position to the limit.
+     *
+     * <p>Heap buffers are parsed straight from their backing array, direct buffers are copied in small slices.</p>
+     *
+     * @param  chunk  of input
+     *
+     * @return  the results completed by this chunk, possibly empty
+     *
+     * @throws  IOException  if the input is not valid, or an entry exceeds the maximum size
+     */
+    public List<T> feed(ByteBuffer chunk) throws IOException {
+
+        if (chunk.hasArray()) {
+            List<T> completed = feed(chunk.array(), chunk.arrayOffset() + chunk.position(), chunk.remaining());
+            chunk.position(chunk.limit());
+
+            return completed;
+        }
+
+        if (scratch == null) {
+            scratch = new byte[CHUNK_SIZE];
+        }
+
+        List<T> completed = Collections.emptyList();
+
+        while (chunk.hasRemaining()) {
+            int length = Math.min(chunk.remaining(), scratch.length);
+            chunk.get(scratch, 0, length);
+
+            List<T> more = feed(scratch, 0, length);
+
+            if (completed.isEmpty()) {
+                completed = more;
+            } else {
+                completed.addAll(more);
+            }
+        }
+
+        return completed;
+    }
+
+
+    /**
+     * Parses the given bytes. The array is not referenced after returning, and can be reused by the caller.
+     *
+     * @param  bytes  holding the input
+     * @param  offset  of the input
+     * @param  length  of the input
+     *
+     * @return  the results completed by these bytes, possibly empty
+     *
+     * @throws  IOException  if the input is not valid, or an entry exceeds the maximum size
+     */
+    public List<T> feed(byte[] bytes, int offset, int length) throws IOException {
+
+        feeder.feedInput(bytes, offset, offset + length);
+        fed += length;
+
+        List<T> completed = drain();
+        checkEntrySize(fed);
+
+        return completed;
+    }
+
+
+    /**
+     * Signals the end of input, and parses anything still pending.
+     *
+     * @return  the results completed by the end of input, possibly empty
+     *
+     * @throws  IOException  if the input ends inside a document
+     */
+    public List<T> endOfInput() throws IOException {
+
+        feeder.endOfInput();
+
+        List<T> completed = drain();
+
+        if (depth != 0) {
+            throw new JsonParseException(parser, "Unexpected end of input, inside a contents document");
+        }
+
+        return completed;
+    }
+
+
+    @Override
+    public void close() throws IOException {
+
+        parser.close();
+    }
+
+
+    private List<T> drain() throws IOException {
+
+        results = null;
+
+        for (JsonToken token = parser.nextToken(); token != null && token != JsonToken.NOT_AVAILABLE;
+                token = parser.nextToken()) {
+            if (entry != null) {
+                continueEntry(token);
+            } else {
+                handle(token);
+            }
+
+            if (entry == null) {
+                lastTokenEnd = parser.getCurrentLocation().getByteOffset();
+            }
+        }
+
+        return results == null ? Collections.emptyList() : results;
+    }
+
+
+    private void handle(JsonToken token) throws IOException {
+
+        if (token == JsonToken.START_ARRAY && depth == 0) {
+            depth = 1;
+            document = documents ? new ArrayList<>() : null;
+        } else if (token == JsonToken.START_OBJECT && depth == 1) {
+            depth = 2;
+            entry = new TokenBuffer(parser);
+            entry.copyCurrentEvent(parser);
+            entryStart = parser.getTokenLocation().getByteOffset();
+        } else if (token == JsonToken.END_ARRAY && depth == 1) {
+            depth = 0;
+
+            if (documents) {
+                emit(Contents.adopt(document));
+                document = null;
+            }
+        } else if (token != JsonToken.VALUE_NULL || depth != 1) {
+            throw new JsonParseException(parser, "Unexpected token " + token + ", expected contents document");
+        }
+    }
+
+
+    private void continueEntry(JsonToken token) throws IOException {
+
+        entry.copyCurrentEvent(parser);
+
+        if (token.isStructStart()) {
+            depth++;
+        } else if (token.isStructEnd()) {
+            depth--;
+        }
+
+        if (depth > 1) {
+            return;
+        }
+
+        checkEntrySize(parser.getCurrentLocation().getByteOffset());
+
+        Content content = READER.readValue(entry.asParser());
+        entry = null;
+
+        if (documents) {
+            document.add(content);
+        } else {
+            emit(content);
+        }
+    }
+
+
+    /**
+     * Bounds the input buffered by the parser, from the start of the current entry, or outside of entries, from the end
+     * of the last completed token, so that neither an entry nor a single token can grow without limit.
+     */
+    private void checkEntrySize(long offset) throws JsonParseException {
+
+        if (offset - (entry != null ? entryStart : lastTokenEnd) > maximumEntrySize) {
+            throw new JsonParseException(parser,
+                (entry != null ? "Content entry" : "Token") + " exceeds the maximum size of " + maximumEntrySize);
+        }
+    }
+
+
+    @SuppressWarnings("unchecked")
+    private void emit(Object result) {
+
+        if (results == null) {
+            results = new ArrayList<>();
+        }
+
+        results.add((T) result);
+    }
+}
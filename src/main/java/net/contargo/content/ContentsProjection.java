@@ -0,0 +1,232 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+
+/**
+ * Reads only selected content entries from JSON, by mime type and language.
+ *
+ * <pre><code>
+Contents contents = ContentsProjection.forMimeTypes(MimeType.TEXT_SUBJECT, MimeType.TEXT_BODY)
+        .andLocales(Locale.GERMAN)
+        .read(json);
+   </code></pre>
+ *
+ * <p>An entry is selected if its mime type is one of the selected mime types, and it either has no locale or a locale
+ * with the language of one of the selected locales. This matches {@link Contents#forMimeTypeAndLocale(MimeType,
+ * Locale)}. Not selecting any mime types, or any locales, selects all of them.</p>
+ *
+ * <p>Rejected entries are skipped at the token level, as soon as their mime type or locale has been read, and never
+ * materialized as content entries. Entries written by {@link ContentSerializer} start with their mime type and locale,
+ * so the content of rejected entries is skipped without being read. Content preceding the mime type or locale, as
+ * written by earlier versions, has been read by then, and is only dropped. Binary content of selected entries is kept
+ * Base64 encoded, until first accessed.</p>
+ *
+ * <p>Projections are immutable and thread-safe. They can also be given as the attribute
+ * {@code ContentsProjection.class} of any deserialization, in which case rejected entries are read as {@code null}.
+ * </p>
+ *
+ * @since  0.5
+ */
+public final class ContentsProjection {
+
+    private static final ObjectReader READER = Contents.MAPPER.readerFor(new TypeReference<List<Content>>() {
+            }).without(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+
+    private final Set<MimeType> mimeTypes;
+    private final Set<String> languages;
+    private final ContentCompression compression;
+    private final ObjectReader reader;
+
+    private ContentsProjection(Set<MimeType> mimeTypes, Set<String> languages, ContentCompression compression) {
+
+        this.mimeTypes = mimeTypes;
+        this.languages = languages;
+        this.compression = compression;
+        this.reader = READER.withAttribute(ContentsProjection.class, this)
+                .withAttribute(ContentCompression.class, compression);
+    }
+
+    /**
+     * Creates a projection, selecting entries of the given mime types, in all languages.
+     *
+     * @param  mimeTypes  to select
+     *
+     * @return  a new projection
+     */
+    public static ContentsProjection forMimeTypes(MimeType... mimeTypes) {
+
+        return new ContentsProjection(new HashSet<>(Arrays.asList(mimeTypes)), Collections.emptySet(), null);
+    }
+
+
+    /**
+     * Creates a projection, selecting entries of all mime types, in the languages of the given locales.
+     *
+     * @param  locales  to select
+     *
+     * @return  a new projection
+     */
+    public static ContentsProjection forLocales(Locale... locales) {
+
+        return new ContentsProjection(Collections.emptySet(), languagesOf(locales), null);
+    }
+
+
+    /**
+     * Returns a projection, selecting only entries of the given mime types, and the languages of this projection.
+     *
+     * @param  selected  mime types
+     *
+     * @return  a new projection
+     */
+    public ContentsProjection andMimeTypes(MimeType... selected) {
+
+        return new ContentsProjection(new HashSet<>(Arrays.asList(selected)), languages, compression);
+    }
+
+
+    /**
+     * Returns a projection, selecting only entries in the languages of the given locales, and the mime types of this
+     * projection.
+     *
+     * @param  selected  locales
+     *
+     * @return  a new projection
+     */
+    public ContentsProjection andLocales(Locale... selected) {
+
+        return new ContentsProjection(mimeTypes, languagesOf(selected), compression);
+    }
+
+
+    /**
+     * Returns a projection, also reading content flagged as compressed, with the given compression, see
+     * {@link ContentCompression}. Compressed entries are selected by their original mime type.
+     *
+     * @param  readCompression  to read compressed content with
+     *
+     * @return  a new projection
+     */
+    public ContentsProjection andCompression(ContentCompression readCompression) {
+
+        return new ContentsProjection(mimeTypes, languages, readCompression);
+    }
+
+
+    /**
+     * Reads the selected content entries from the given JSON.
+     *
+     * @param  json  to read
+     *
+     * @return  the selected contents
+     *
+     * @throws  IOException  if the JSON is not a valid contents document
+     */
+    public Contents read(String json) throws IOException {
+
+        return selected(reader.readValue(json));
+    }
+
+
+    /**
+     * Reads the selected content entries from the given UTF-8 encoded JSON.
+     *
+     * @param  json  to read
+     *
+     * @return  the selected contents
+     *
+     * @throws  IOException  if the JSON is not a valid contents document
+     */
+    public Contents read(byte[] json) throws IOException {
+
+        return selected(reader.readValue(json));
+    }
+
+
+    /**
+     * Reads the selected content entries from the given input stream, which is not closed.
+     *
+     * @param  in  to read from
+     *
+     * @return  the selected contents
+     *
+     * @throws  IOException  if reading fails, or the JSON is not a valid contents document
+     */
+    public Contents read(InputStream in) throws IOException {
+
+        return selected(reader.readValue(in));
+    }
+
+
+    /**
+     * Returns whether entries of the given mime type are selected, also when it is flagged as compressed, if read
+     * with compression.
+     *
+     * @param  mimeType  to check
+     * @param  compressed  whether flagged compressed content is recognized
+     *
+     * @return  {@code true} if selected, otherwise {@code false}
+     */
+    boolean accepts(MimeType mimeType, boolean compressed) {
+
+        if (mimeTypes.isEmpty() || mimeTypes.contains(mimeType)) {
+            return true;
+        }
+
+        if (!compressed) {
+            return false;
+        }
+
+        String encoding = ContentCompression.encodingOf(mimeType);
+
+        return encoding != null && mimeTypes.contains(ContentCompression.unflag(mimeType, encoding));
+    }
+
+
+    /**
+     * Returns whether entries of the given locale are selected.
+     *
+     * @param  locale  to check
+     *
+     * @return  {@code true} if selected, otherwise {@code false}
+     */
+    boolean accepts(Locale locale) {
+
+        return languages.isEmpty() || languages.contains(locale.getLanguage());
+    }
+
+
+    private static Set<String> languagesOf(Locale... locales) {
+
+        return Arrays.stream(locales).map(Locale::getLanguage).collect(Collectors.toSet());
+    }
+
+
+    private static Contents selected(List<Content> values) {
+
+        ArrayList<Content> selected = new ArrayList<>(values.size());
+
+        for (Content value : values) {
+            if (value != null) {
+                selected.add(value);
+            }
+        }
+
+        return Contents.adopt(selected);
+    }
+}
@@ -0,0 +1,170 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * Reads a sequence of contents documents from an input stream, one document at a time.
+ *
+ * <p>Supports the newline-delimited JSON (NDJSON) and enclosing JSON array formats written by {@link ContentsWriter}.
+ * Content entries are read with {@link ContentDeserializer}, and only one document is held in memory at a time, no
+ * matter how large the input is.</p>
+ *
+ * <p>Readers are not thread-safe. Closing the reader closes the underlying stream. Read failures are thrown as
+ * {@link UncheckedIOException} from the iterator methods.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentsReader implements Iterator<Contents>, Closeable {
+
+    private static final ObjectReader READER = Contents.MAPPER.readerFor(new TypeReference<List<Content>>() {
+            });
+
+    private final JsonParser parser;
+    private final boolean array;
+
+    private boolean started;
+    private JsonToken next;
+
+    private ContentsReader(InputStream in, boolean array) throws IOException {
+
+        this.parser = Contents.MAPPER.getFactory().createParser(in);
+        this.array = array;
+    }
+
+    /**
+     * Creates a reader for newline-delimited JSON documents.
+     *
+     * @param  in  to read from
+     *
+     * @return  a new reader
+     *
+     * @throws  IOException  if the reader could not be created
+     */
+    public static ContentsReader ndjson(InputStream in) throws IOException {
+
+        return new ContentsReader(in, false);
+    }
+
+
+    /**
+     * Creates a reader for documents given as elements of one enclosing JSON array.
+     *
+     * @param  in  to read from
+     *
+     * @return  a new reader
+     *
+     * @throws  IOException  if the reader could not be created
+     */
+    public static ContentsReader jsonArray(InputStream in) throws IOException {
+
+        return new ContentsReader(in, true);
+    }
+
+
+    @Override
+    public boolean hasNext() {
+
+        if (next == null) {
+            try {
+                next = advance();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read next contents", e);
+            }
+        }
+
+        return next == JsonToken.START_ARRAY;
+    }
+
+
+    @Override
+    public Contents next() {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        next = null;
+
+        try {
+            List<Content> values = READER.readValue(parser);
+
+            return new Contents(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read contents", e);
+        }
+    }
+
+
+    /**
+     * Returns a sequential stream of the remaining documents. Closing the stream closes this reader.
+     *
+     * @return  a stream of contents
+     */
+    public Stream<Contents> stream() {
+
+        Spliterator<Contents> spliterator = Spliterators.spliteratorUnknownSize(this,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+
+        return StreamSupport.stream(spliterator, false).onClose(() -> {
+                try {
+                    close();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+    }
+
+
+    @Override
+    public void close() throws IOException {
+
+        parser.close();
+    }
+
+
+    private JsonToken advance() throws IOException {
+
+        if (array && !started) {
+            started = true;
+
+            JsonToken token = parser.nextToken();
+
+            if (token == null) {
+                return JsonToken.END_ARRAY;
+            }
+
+            if (token != JsonToken.START_ARRAY) {
+                throw new IOException("Expected an enclosing JSON array, but got: " + token);
+            }
+        }
+
+        JsonToken token = parser.nextToken();
+
+        if (token == null || token == JsonToken.END_ARRAY) {
+            return JsonToken.END_ARRAY;
+        }
+
+        if (token != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of content entries, but got: " + token);
+        }
+
+        return token;
+    }
+}
@@ -0,0 +1,49 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+import java.util.List;
+
+
+/**
+ * Serializer for contents, writing the entries as an array straight to the generator, in the format of
+ * {@link Contents.Buildable#asJSON()}. Entries are written with the serializer registered for {@link Content}.
+ *
+ * @since  0.5
+ */
+public final class ContentsSerializer extends StdSerializer<Contents> {
+
+    private static final long serialVersionUID = 1L;
+
+    public ContentsSerializer() {
+
+        super(Contents.class);
+    }
+
+    @Override
+    public void serialize(Contents value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        List<Content> values = value.asList();
+        JsonSerializer<Object> serializer = provider.findValueSerializer(Content.class);
+
+        gen.writeStartArray(values.size());
+
+        for (Content content : values) {
+            serializer.serialize(content, gen, provider);
+        }
+
+        gen.writeEndArray();
+    }
+
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, Contents value) {
+
+        return value.asList().isEmpty();
+    }
+}
@@ -0,0 +1,651 @@
+package net.contargo.content;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+
+
+/**
+ * Local, file-backed store of contents by ID, appending {@link ContentsCodec} encoded records to segment files.
+ *
+ * <p>Every {@link #put(String, List) put} and {@link #delete(String) delete} appends a record to the active segment,
+ * which is rolled over to a new file once it reaches the segment size. An in-memory index maps every ID to the
+ * location of its latest record, and is rebuilt by scanning all segments when the store is opened. A record torn by
+ * a crash, at the end of the last segment, is truncated.</p>
+ *
+ * <p>Records of sealed segments, which are no longer appended to, are read through a memory-mapped, read-only buffer
+ * of the whole segment file, mapped once on first use, and decoded straight from the mapped memory, so that serving
+ * the contents for an ID takes a single index lookup and mapped read. Records of the active segment are read with a
+ * positional read of the file channel instead, so that appending never remaps the segment.</p>
+ *
+ * <p>Mappings are released when a segment is deleted by compaction or the store is closed. Java offers no supported
+ * way to release a mapping, so this is best-effort, through the JDK internal cleaner of the buffer. If the cleaner is
+ * not accessible, which is logged as a warning, mappings are only released by garbage collection, and until then
+ * Windows refuses to delete compacted segment files.</p>
+ *
+ * <p>A record, including its header and ID, must fit into a single segment.</p>
+ *
+ * <p>Replaced and deleted records keep using disk space, until the store is {@link #compact() compacted}, which copies
+ * all live records to new segments and deletes the old ones.</p>
+ *
+ * <pre><code>
+record := length crc32 kind idLength id payload
+   </code></pre>
+ *
+ * <p>Reads may happen concurrently, writes and compaction are exclusive. Once the store is closed, reading, writing,
+ * compacting and flushing fail with an {@link IllegalStateException}. Files in the directory matching the segment
+ * name pattern without a segment number are ignored.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentsStore implements Closeable {
+
+    private static final long DEFAULT_SEGMENT_SIZE = 64L * 1024 * 1024;
+
+    private static final String PREFIX = "contents-";
+    private static final String SUFFIX = ".segment";
+
+    private static final int HEADER_SIZE = 8;
+    private static final int BODY_HEADER_SIZE = 5;
+
+    private static final byte PUT = 0;
+    private static final byte DELETE = 1;
+
+    private static final Logger LOG = LoggerFactory.getLogger(ContentsStore.class);
+    private static final Consumer<MappedByteBuffer> UNMAPPER = unmapper();
+
+    private final Path directory;
+    private final long segmentSize;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final Map<String, Location> index = new HashMap<>();
+
+    private Segment active;
+    private boolean closed;
+
+    private ContentsStore(Path directory, long segmentSize) {
+
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Opens the store in the given directory, with segments of 64 MiB.
+     *
+     * @param  directory  holding the segment files, created if missing
+     *
+     * @return  the opened store
+     *
+     * @throws  IOException  if the segments cannot be read
+     */
+    public static ContentsStore open(Path directory) throws IOException {
+
+        return open(directory, DEFAULT_SEGMENT_SIZE);
+    }
+
+
+    /**
+     * Opens the store in the given directory.
+     *
+     * @param  directory  holding the segment files, created if missing
+     * @param  segmentSize  in bytes, after which a new segment is started, at most {@link Integer#MAX_VALUE}
+     *
+     * @return  the opened store
+     *
+     * @throws  IOException  if the segments cannot be read
+     */
+    public static ContentsStore open(Path directory, long segmentSize) throws IOException {
+
+        if (segmentSize <= 0 || segmentSize > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Segment size must be between 1 and 2 GiB: " + segmentSize);
+        }
+
+        ContentsStore store = new ContentsStore(Files.createDirectories(directory), segmentSize);
+
+        try {
+            store.load();
+        } catch (IOException | RuntimeException e) {
+            store.close();
+
+            throw e;
+        }
+
+        return store;
+    }
+
+
+    /**
+     * Stores the given contents for the ID, replacing any contents stored before.
+     *
+     * @param  id  to store the contents for
+     * @param  contents  to store
+     *
+     * @throws  IOException  if writing fails
+     */
+    public void put(String id, Contents contents) throws IOException {
+
+        put(id, contents.asList());
+    }
+
+
+    /**
+     * Stores the given content entries for the ID, replacing any contents stored before.
+     *
+     * @param  id  to store the contents for
+     * @param  contents  to store
+     *
+     * @throws  IOException  if writing fails
+     * @throws  IllegalArgumentException  if the record does not fit into a segment
+     */
+    public void put(String id, List<Content> contents) throws IOException {
+
+        ByteBuffer payload = ByteBuffer.wrap(ContentsCodec.encode(contents));
+
+        lock.writeLock().lock();
+
+        try {
+            checkOpen();
+            index.put(id, append(PUT, id, payload));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Returns the contents stored for the ID.
+     *
+     * @param  id  to look up
+     *
+     * @return  the stored contents, or {@code null} if none are stored
+     *
+     * @throws  IOException  if reading fails
+     */
+    public Contents get(String id) throws IOException {
+
+        lock.readLock().lock();
+
+        try {
+            checkOpen();
+
+            Location location = index.get(id);
+
+            return location == null ? null : new Contents(ContentsCodec.decode(location.read()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Deletes the contents stored for the ID.
+     *
+     * @param  id  to delete
+     *
+     * @return  {@code true} if contents were stored, otherwise {@code false}
+     *
+     * @throws  IOException  if writing fails
+     */
+    public boolean delete(String id) throws IOException {
+
+        lock.writeLock().lock();
+
+        try {
+            checkOpen();
+
+            if (!index.containsKey(id)) {
+                return false;
+            }
+
+            append(DELETE, id, ByteBuffer.allocate(0));
+            index.remove(id);
+
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Returns the number of IDs with stored contents.
+     *
+     * @return  the number of stored IDs
+     */
+    public int size() {
+
+        lock.readLock().lock();
+
+        try {
+            return index.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+
+    /**
+     * Copies all live records to new segments, and deletes the old segments, releasing the space of replaced and
+     * deleted records. Reads are blocked while compacting.
+     *
+     * <p>Old segments are deleted in the order they were written, after the new ones are forced to disk, so that an
+     * interrupted compaction never resurrects deleted contents.</p>
+     *
+     * @throws  IOException  if copying or deleting fails
+     */
+    public void compact() throws IOException {
+
+        lock.writeLock().lock();
+
+        try {
+            checkOpen();
+
+            List<Segment> old = new ArrayList<>(segments.values());
+            active.sealed = true;
+            active = newSegment();
+
+            long first = active.number;
+
+            for (Map.Entry<String, Location> entry : index.entrySet()) {
+                entry.setValue(append(PUT, entry.getKey(), entry.getValue().read()));
+            }
+
+            for (Segment segment : segments.tailMap(first).values()) {
+                segment.channel.force(false);
+            }
+
+            for (Segment segment : old) {
+                segments.remove(segment.number);
+                segment.close();
+                Files.delete(segment.path);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    /**
+     * Forces all written records to disk.
+     *
+     * @throws  IOException  if forcing fails
+     */
+    public void flush() throws IOException {
+
+        lock.writeLock().lock();
+
+        try {
+            checkOpen();
+            active.channel.force(false);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    @Override
+    public void close() throws IOException {
+
+        lock.writeLock().lock();
+
+        try {
+            IOException failure = null;
+
+            for (Segment segment : segments.values()) {
+                try {
+                    segment.close();
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+
+            segments.clear();
+            index.clear();
+            active = null;
+            closed = true;
+
+            if (failure != null) {
+                throw failure;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+
+    private void checkOpen() {
+
+        if (closed) {
+            throw new IllegalStateException("store is closed");
+        }
+    }
+
+
+    private void load() throws IOException {
+
+        TreeMap<Long, Path> paths = new TreeMap<>();
+
+        try(DirectoryStream<Path> files = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            for (Path path : files) {
+                String name = path.getFileName().toString();
+                String number = name.substring(PREFIX.length(), name.length() - SUFFIX.length());
+
+                if (!number.isEmpty() && number.length() <= 19 && number.chars().allMatch(Character::isDigit)) {
+                    paths.put(Long.parseLong(number), path);
+                }
+            }
+        }
+
+        for (Map.Entry<Long, Path> entry : paths.entrySet()) {
+            Segment segment = new Segment(entry.getKey(), entry.getValue());
+            segments.put(segment.number, segment);
+            scan(segment, entry.getKey().equals(paths.lastKey()));
+        }
+
+        active = segments.isEmpty() ? newSegment() : segments.lastEntry().getValue();
+    }
+
+
+    /**
+     * Indexes the records of the segment, sealing all but the last one, and truncates a torn record at the end of the
+     * last one.
+     */
+    private void scan(Segment segment, boolean last) throws IOException {
+
+        if (segment.size > Integer.MAX_VALUE) {
+            throw new IOException("Segment " + segment.path + " exceeds the maximum segment size");
+        }
+
+        int end = scan(segment, segment.map());
+
+        if (!last) {
+            if (end < segment.size) {
+                throw new IOException("Corrupt record in " + segment.path + " at offset " + end);
+            }
+
+            segment.sealed = true;
+
+            return;
+        }
+
+        segment.release();
+
+        if (end < segment.size) {
+            segment.channel.truncate(end);
+            segment.size = end;
+        }
+    }
+
+
+    private int scan(Segment segment, ByteBuffer buffer) {
+
+        CRC32 crc = new CRC32();
+
+        while (buffer.hasRemaining()) {
+            int offset = buffer.position();
+            int length = buffer.remaining() < HEADER_SIZE ? -1 : buffer.getInt();
+            int checksum = length < 0 ? 0 : buffer.getInt();
+
+            if (length < BODY_HEADER_SIZE || length > buffer.remaining()) {
+                return offset;
+            }
+
+            ByteBuffer body = buffer.slice();
+            body.limit(length);
+            crc.reset();
+            crc.update(body.duplicate());
+
+            if ((int) crc.getValue() != checksum) {
+                return offset;
+            }
+
+            byte kind = body.get();
+            byte[] id = new byte[body.getInt()];
+            body.get(id);
+
+            String key = new String(id, StandardCharsets.UTF_8);
+
+            if (kind == DELETE) {
+                index.remove(key);
+            } else {
+                int payload = offset + HEADER_SIZE + body.position();
+                index.put(key, new Location(segment, payload, length - body.position()));
+            }
+
+            buffer.position(offset + HEADER_SIZE + length);
+        }
+
+        return buffer.position();
+    }
+
+
+    private Location append(byte kind, String id, ByteBuffer payload) throws IOException {
+
+        byte[] key = id.getBytes(StandardCharsets.UTF_8);
+        long recordSize = (long) HEADER_SIZE + BODY_HEADER_SIZE + key.length + payload.remaining();
+
+        if (recordSize > segmentSize) {
+            throw new IllegalArgumentException("Record of " + recordSize + " bytes for " + id
+                + " exceeds the segment size of " + segmentSize + " bytes");
+        }
+
+        int length = (int) recordSize - HEADER_SIZE;
+
+        if (active.size > 0 && active.size + recordSize > segmentSize) {
+            active.sealed = true;
+            active = newSegment();
+        }
+
+        ByteBuffer body = ByteBuffer.allocate(BODY_HEADER_SIZE + key.length);
+        body.put(kind).putInt(key.length).put(key);
+        body.flip();
+
+        CRC32 crc = new CRC32();
+        crc.update(body.duplicate());
+        crc.update(payload.duplicate());
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(length).putInt((int) crc.getValue());
+        header.flip();
+
+        long offset = active.size;
+        ByteBuffer[] buffers = { header, body, payload };
+        active.channel.position(offset);
+
+        while (payload.hasRemaining() || body.hasRemaining() || header.hasRemaining()) {
+            active.channel.write(buffers);
+        }
+
+        active.size = offset + HEADER_SIZE + length;
+
+        return new Location(active, (int) offset + HEADER_SIZE + BODY_HEADER_SIZE + key.length,
+                length - BODY_HEADER_SIZE - key.length);
+    }
+
+
+    private Segment newSegment() throws IOException {
+
+        long number = segments.isEmpty() ? 1 : segments.lastKey() + 1;
+        Segment segment = new Segment(number, directory.resolve(String.format("%s%019d%s", PREFIX, number, SUFFIX)));
+        segments.put(number, segment);
+
+        return segment;
+    }
+
+
+    /**
+     * Resolves the way to release a mapping right away, instead of leaving it to garbage collection: through
+     * {@code Unsafe.invokeCleaner} from Java 9 on, and through the cleaner of the buffer on Java 8. Falls back to
+     * garbage collection, with a warning, if neither is accessible.
+     */
+    private static Consumer<MappedByteBuffer> unmapper() {
+
+        try {
+            Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+            Field field = unsafeClass.getDeclaredField("theUnsafe");
+            field.setAccessible(true);
+
+            Object unsafe = field.get(null);
+            Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+
+            return buffer -> invoke(invokeCleaner, unsafe, buffer);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.debug("Unsafe.invokeCleaner is not accessible, trying the cleaner of the buffer", e);
+        }
+
+        try {
+            Method cleanerMethod = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+            Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+
+            return buffer -> invoke(clean, invoke(cleanerMethod, buffer));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.warn("Cannot release memory-mapped segments explicitly, leaving them to garbage collection", e);
+
+            return buffer -> { };
+        }
+    }
+
+
+    private static Object invoke(Method method, Object target, Object... args) {
+
+        try {
+            return target == null ? null : method.invoke(target, args);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            LOG.warn("Failed to release a memory-mapped segment, leaving it to garbage collection", e);
+
+            return null;
+        }
+    }
+
+    private static final class Segment {
+
+        private final long number;
+        private final Path path;
+        private final FileChannel channel;
+
+        private long size;
+        private volatile boolean sealed;
+        private volatile MappedByteBuffer mapped;
+
+        Segment(long number, Path path) throws IOException {
+
+            this.number = number;
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                    StandardOpenOption.WRITE);
+            this.size = channel.size();
+        }
+
+        /**
+         * Returns a view of the mapped region of a sealed segment, or a copy of the region read from the channel while
+         * the segment is still appended to.
+         */
+        ByteBuffer read(int offset, int length) throws IOException {
+
+            if (!sealed) {
+                ByteBuffer buffer = ByteBuffer.allocate(length);
+
+                while (buffer.hasRemaining()) {
+                    if (channel.read(buffer, offset + buffer.position()) < 0) {
+                        throw new EOFException("Record in " + path + " at offset " + offset + " ends past the file");
+                    }
+                }
+
+                buffer.flip();
+
+                return buffer;
+            }
+
+            MappedByteBuffer buffer = mapped;
+
+            if (buffer == null) {
+                buffer = map();
+            }
+
+            ByteBuffer view = buffer.duplicate();
+            view.limit(offset + length);
+            view.position(offset);
+
+            return view.slice();
+        }
+
+
+        synchronized MappedByteBuffer map() throws IOException {
+
+            MappedByteBuffer buffer = mapped;
+
+            if (buffer == null) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                mapped = buffer;
+            }
+
+            return buffer;
+        }
+
+
+        /**
+         * Releases the mapping, only called while no reads are in progress and no views of it are held.
+         */
+        synchronized void release() {
+
+            MappedByteBuffer buffer = mapped;
+            mapped = null;
+
+            if (buffer != null) {
+                UNMAPPER.accept(buffer);
+            }
+        }
+
+
+        void close() throws IOException {
+
+            release();
+            channel.close();
+        }
+    }
+
+    private static final class Location {
+
+        private final Segment segment;
+        private final int offset;
+        private final int length;
+
+        Location(Segment segment, int offset, int length) {
+
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        ByteBuffer read() throws IOException {
+
+            return segment.read(offset, length);
+        }
+    }
+}
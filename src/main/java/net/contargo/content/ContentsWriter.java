@@ -0,0 +1,120 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.List;
+
+
+/**
+ * Writes a sequence of contents documents to an output stream, one document at a time.
+ *
+ * <p>Documents are either written as newline-delimited JSON (NDJSON), with one JSON array of content entries per
+ * line, or as elements of one enclosing JSON array. Each document is written as soon as it is given, so memory use
+ * does not depend on the number of documents. Read them back with {@link ContentsReader}.</p>
+ *
+ * <p>Writers are not thread-safe. Closing the writer completes the output and closes the underlying stream.</p>
+ *
+ * @since  0.5
+ */
+public final class ContentsWriter implements Closeable, Flushable {
+
+    private static final ObjectWriter WRITER = Contents.WRITER.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final JsonGenerator generator;
+    private final boolean array;
+
+    private ContentsWriter(OutputStream out, boolean array) throws IOException {
+
+        this.generator = Contents.MAPPER.getFactory().createGenerator(out);
+        this.generator.setRootValueSeparator(null);
+        this.array = array;
+
+        if (array) {
+            this.generator.writeStartArray();
+        }
+    }
+
+    /**
+     * Creates a writer for newline-delimited JSON documents.
+     *
+     * @param  out  to write to
+     *
+     * @return  a new writer
+     *
+     * @throws  IOException  if the writer could not be created
+     */
+    public static ContentsWriter ndjson(OutputStream out) throws IOException {
+
+        return new ContentsWriter(out, false);
+    }
+
+
+    /**
+     * Creates a writer for documents as elements of one enclosing JSON array.
+     *
+     * @param  out  to write to
+     *
+     * @return  a new writer
+     *
+     * @throws  IOException  if the writer could not be created
+     */
+    public static ContentsWriter jsonArray(OutputStream out) throws IOException {
+
+        return new ContentsWriter(out, true);
+    }
+
+
+    /**
+     * Writes the given contents as the next document.
+     *
+     * @param  contents  to write
+     *
+     * @throws  IOException  if writing fails
+     */
+    public void write(Contents contents) throws IOException {
+
+        write(contents.asList());
+    }
+
+
+    /**
+     * Writes the given content entries as the next document.
+     *
+     * @param  contents  to write
+     *
+     * @throws  IOException  if writing fails
+     */
+    public void write(List<Content> contents) throws IOException {
+
+        WRITER.writeValue(generator, contents);
+
+        if (!array) {
+            generator.writeRaw('\n');
+        }
+    }
+
+
+    @Override
+    public void flush() throws IOException {
+
+        generator.flush();
+    }
+
+
+    @Override
+    public void close() throws IOException {
+
+        if (array && !generator.isClosed()) {
+            generator.writeEndArray();
+        }
+
+        generator.close();
+    }
+}
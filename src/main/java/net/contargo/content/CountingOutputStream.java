@@ -0,0 +1,48 @@
+package net.contargo.content;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+
+/**
+ * Output stream counting the bytes written through it, used for reporting output sizes to the
+ * {@link ContentsListener}.
+ *
+ * @since  0.5
+ */
+final class CountingOutputStream extends FilterOutputStream {
+
+    private long count;
+
+    CountingOutputStream(OutputStream out) {
+
+        super(out);
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+
+        out.write(b);
+        count++;
+    }
+
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+
+        out.write(b, off, len);
+        count += len;
+    }
+
+
+    /**
+     * Returns the number of bytes written.
+     *
+     * @return  the byte count
+     */
+    long getCount() {
+
+        return count;
+    }
+}
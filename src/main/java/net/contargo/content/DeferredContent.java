@@ -0,0 +1,50 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+
+/**
+ * Content data that is held in some other form than its value, and only turned into the value when accessed.
+ *
+ * @since  0.5
+ */
+interface DeferredContent {
+
+    /**
+     * Returns the content value, materializing it if required.
+     *
+     * @return  the content value
+     */
+    Object get();
+
+
+    /**
+     * Writes the content value, preferably without materializing it.
+     *
+     * @param  gen  to write to
+     * @param  provider  of the current serialization
+     *
+     * @throws  IOException  if writing fails
+     */
+    void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException;
+
+
+    /**
+     * Returns the value to compare and hash the content by, without consuming it and without failing: the content
+     * value if it can be computed that way, otherwise this instance, which is compared by identity.
+     *
+     * @return  the value to compare by
+     */
+    Object comparable();
+
+
+    /**
+     * Returns whether the content value is binary, without materializing it.
+     *
+     * @return  {@code true} for a binary value, {@code false} for a text value
+     */
+    boolean isBinary();
+}
@@ -0,0 +1,81 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.Base64Variants;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.IOException;
+
+
+/**
+ * Binary content kept in its Base64 encoded form, as read, and decoded on first access only.
+ *
+ * @since  0.5
+ */
+final class EncodedBinary implements DeferredContent {
+
+    static final Base64Variant BASE64 = Base64Variants.MIME_NO_LINEFEEDS;
+
+    private final String encoded;
+    private volatile byte[] decoded;
+
+    EncodedBinary(String encoded) {
+
+        this.encoded = encoded;
+    }
+
+    /**
+     * Returns the decoded bytes, decoding them on the first call.
+     *
+     * @return  the decoded bytes
+     *
+     * @throws  IllegalArgumentException  if the encoded form is not valid Base64
+     */
+    @Override
+    public byte[] get() {
+
+        byte[] bytes = decoded;
+
+        if (bytes == null) {
+            bytes = BASE64.decode(encoded);
+            decoded = bytes;
+        }
+
+        return bytes;
+    }
+
+
+    /**
+     * Returns the decoded bytes, or this instance if the encoded form is not valid Base64.
+     */
+    @Override
+    public Object comparable() {
+
+        try {
+            return get();
+        } catch (IllegalArgumentException e) {
+            return this;
+        }
+    }
+
+
+    /**
+     * Returns {@code true}, encoded content is always binary.
+     */
+    @Override
+    public boolean isBinary() {
+
+        return true;
+    }
+
+
+    /**
+     * Writes the encoded form, exactly as it was read.
+     */
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        gen.writeString(encoded);
+    }
+}
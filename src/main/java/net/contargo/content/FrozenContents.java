@@ -0,0 +1,168 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+
+import java.util.List;
+
+
+/**
+ * Immutable contents, with its JSON representation computed once and kept.
+ *
+ * <p>Meant for documents that are serialized many times, for example when fanning one notification out to many
+ * recipients. Every following {@link #asJSON(OutputStream) write} copies the kept UTF-8 bytes, and the document is
+ * embedded as raw JSON when a containing object is serialized with Jackson, without serializing the entries again.
+ * Raw JSON is embedded as-is, and not indented by pretty printers.</p>
+ *
+ * <p>Binary values added from a stream are read fully when frozen, so that they remain accessible afterwards.</p>
+ *
+ * @since  0.5
+ */
+@JsonSerialize(using = FrozenContentsSerializer.class)
+public final class FrozenContents {
+
+    private final Contents contents;
+    private final SerializedString json;
+
+    private FrozenContents(Contents contents, SerializedString json) {
+
+        this.contents = contents;
+        this.json = json;
+    }
+
+    /**
+     * Freezes the given content entries, serializing them to JSON.
+     *
+     * @param  values  to freeze
+     *
+     * @return  the frozen contents
+     */
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public static FrozenContents of(List<Content> values) {
+
+        Contents contents = new Contents(values);
+
+        for (Content content : contents.asList()) {
+            if (content.rawContent() instanceof StreamedBinary) {
+                content.getContent();
+            }
+        }
+
+        try {
+            SerializedString json = new SerializedString(Contents.WRITER.writeValueAsString(contents.asList()));
+            json.asUnquotedUTF8();
+
+            return new FrozenContents(contents, json);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Could not write contents as JSON string", e);
+        }
+    }
+
+
+    /**
+     * Returns the frozen contents, for lookups.
+     *
+     * @return  the contents
+     */
+    public Contents asContents() {
+
+        return contents;
+    }
+
+
+    /**
+     * Returns the frozen content entries.
+     *
+     * @return  an unmodifiable list of content entries
+     */
+    public List<Content> asList() {
+
+        return contents.asList();
+    }
+
+
+    /**
+     * Returns the kept JSON representation.
+     *
+     * @return  the JSON string
+     */
+    public String asJSON() {
+
+        return json.getValue();
+    }
+
+
+    /**
+     * Writes the kept JSON representation, as UTF-8 bytes, to the given output stream, which is not closed.
+     *
+     * @param  out  to write to
+     *
+     * @throws  IOException  if writing fails
+     */
+    public void asJSON(OutputStream out) throws IOException {
+
+        json.writeUnquotedUTF8(out);
+    }
+
+
+    /**
+     * Writes the kept JSON representation to the given writer, which is not closed.
+     *
+     * @param  writer  to write to
+     *
+     * @throws  IOException  if writing fails
+     */
+    public void asJSON(Writer writer) throws IOException {
+
+        writer.write(json.getValue());
+    }
+
+
+    /**
+     * Returns the kept JSON representation, for embedding as raw value.
+     *
+     * @return  the serialized JSON
+     */
+    SerializableString serialized() {
+
+        return json;
+    }
+
+
+    @Override
+    public int hashCode() {
+
+        return json.hashCode();
+    }
+
+
+    @Override
+    public boolean equals(Object obj) {
+
+        if (this == obj) {
+            return true;
+        }
+
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+
+        return json.equals(((FrozenContents) obj).json);
+    }
+
+
+    @Override
+    public String toString() {
+
+        return "FrozenContents " + json.getValue();
+    }
+}
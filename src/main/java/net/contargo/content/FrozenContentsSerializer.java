@@ -0,0 +1,29 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+
+
+/**
+ * Serializer for frozen contents, embedding the kept JSON representation as raw value.
+ *
+ * @since  0.5
+ */
+public final class FrozenContentsSerializer extends StdSerializer<FrozenContents> {
+
+    private static final long serialVersionUID = 1L;
+
+    public FrozenContentsSerializer() {
+
+        super(FrozenContents.class);
+    }
+
+    @Override
+    public void serialize(FrozenContents value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        gen.writeRawValue(value.serialized());
+    }
+}
@@ -0,0 +1,154 @@
+package net.contargo.content;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+
+/**
+ * Listener recording contents metrics with Micrometer, which is an optional dependency of this library.
+ *
+ * <pre><code>
+ContentsInstrumentation.register(new MicrometerContentsListener(meterRegistry));
+   </code></pre>
+ *
+ * <p>Records the following meters:</p>
+ *
+ * <ul>
+ *   <li>{@code contents.serialization}: timer, tagged by {@code operation} ({@code json}, {@code map} or
+ *     {@code binary})</li>
+ *   <li>{@code contents.serialization.size}: distribution summary of output sizes, tagged by {@code operation}</li>
+ *   <li>{@code contents.deserialization}: timer, per entry read</li>
+ *   <li>{@code contents.deserialization.size}: distribution summary of input sizes, per entry read</li>
+ *   <li>{@code contents.entries}: counter, tagged by {@code direction} ({@code serialization} or
+ *     {@code deserialization}), {@code mimeType} and {@code kind} ({@code text} or {@code binary})</li>
+ * </ul>
+ *
+ * <p>Timers and summaries publish percentile histograms. To bound the number of meters, at most 256 mime types are
+ * tagged individually per direction, any further ones are tagged as {@code other}.</p>
+ *
+ * @since  0.5
+ */
+public final class MicrometerContentsListener implements ContentsListener {
+
+    private static final int MIME_TYPE_LIMIT = 256;
+    private static final String OTHER = "other";
+
+    private final MeterRegistry registry;
+
+    private final Map<Operation, Timer> serializationTimers = new EnumMap<>(Operation.class);
+    private final Map<Operation, DistributionSummary> serializationSizes = new EnumMap<>(Operation.class);
+    private final Timer deserializationTimer;
+    private final DistributionSummary deserializationSize;
+
+    private final ConcurrentMap<MimeType, Counter[]> serializedEntries = new ConcurrentHashMap<>();
+    private final ConcurrentMap<MimeType, Counter[]> deserializedEntries = new ConcurrentHashMap<>();
+    private final Counter[] otherSerializedEntries;
+    private final Counter[] otherDeserializedEntries;
+
+    /**
+     * Creates a listener, registering its meters with the given registry.
+     *
+     * @param  registry  to register meters with
+     */
+    public MicrometerContentsListener(MeterRegistry registry) {
+
+        this.registry = registry;
+
+        for (Operation operation : Operation.values()) {
+            String tag = operation.name().toLowerCase(Locale.ROOT);
+
+            serializationTimers.put(operation,
+                Timer.builder("contents.serialization")
+                    .tag("operation", tag)
+                    .publishPercentileHistogram()
+                    .register(registry));
+            serializationSizes.put(operation,
+                DistributionSummary.builder("contents.serialization.size")
+                    .tag("operation", tag)
+                    .publishPercentileHistogram()
+                    .register(registry));
+        }
+
+        this.deserializationTimer = Timer.builder("contents.deserialization")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.deserializationSize = DistributionSummary.builder("contents.deserialization.size")
+                .publishPercentileHistogram()
+                .register(registry);
+        this.otherSerializedEntries = counters("serialization", OTHER);
+        this.otherDeserializedEntries = counters("deserialization", OTHER);
+    }
+
+    @Override
+    public void serialized(Operation operation, List<Content> contents, long size, long nanos) {
+
+        serializationTimers.get(operation).record(nanos, TimeUnit.NANOSECONDS);
+
+        if (size >= 0) {
+            serializationSizes.get(operation).record(size);
+        }
+
+        for (Content content : contents) {
+            count(serializedEntries, otherSerializedEntries, "serialization", content);
+        }
+    }
+
+
+    @Override
+    public void deserialized(Content content, long size, long nanos) {
+
+        deserializationTimer.record(nanos, TimeUnit.NANOSECONDS);
+
+        if (size >= 0) {
+            deserializationSize.record(size);
+        }
+
+        count(deserializedEntries, otherDeserializedEntries, "deserialization", content);
+    }
+
+
+    private void count(ConcurrentMap<MimeType, Counter[]> entries, Counter[] others, String direction,
+        Content content) {
+
+        Counter[] counters = entries.get(content.mimeType());
+
+        if (counters == null) {
+            if (entries.size() < MIME_TYPE_LIMIT) {
+                counters = counters(direction, content.getMimeType());
+
+                Counter[] existing = entries.putIfAbsent(content.mimeType(), counters);
+                counters = existing == null ? counters : existing;
+            } else {
+                counters = others;
+            }
+        }
+
+        counters[content.isBinary() ? 1 : 0].increment();
+    }
+
+
+    private Counter[] counters(String direction, String mimeType) {
+
+        return new Counter[] { counter(direction, mimeType, "text"), counter(direction, mimeType, "binary") };
+    }
+
+
+    private Counter counter(String direction, String mimeType, String kind) {
+
+        return Counter.builder("contents.entries")
+            .tag("direction", direction)
+            .tag("mimeType", mimeType)
+            .tag("kind", kind)
+            .register(registry);
+    }
+}
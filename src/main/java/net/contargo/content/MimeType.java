@@ -1,6 +1,11 @@
 package net.contargo.content;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 
 /**
@@ -38,11 +43,25 @@ ${type}/vnd.contargo.${name}+${subtype};${params}
  * a specific parameter but an option for the authoring code, as means to extend the specification of the provided
  * content, to the user.</p>
  *
+ * <p>Each mime type is parsed once, when created, into its {@link #getType() type}, {@link #getVendor() vendor},
+ * {@link #getName() name}, {@link #getSubtype() subtype} and {@link #getParams() params} parts. Use
+ * {@link #valueOf(String)} to obtain canonical, shared instances, which can be compared by reference.</p>
+ *
  * @author  Olle Törnström - toernstroem@synyx.de
  * @since  0.1
  */
 public final class MimeType {
 
+    /**
+     * Upper bound for the number of canonical instances kept, protecting against unbounded growth when mime types are
+     * read from untrusted input. Once reached, new mime types are still created, but no longer registered.
+     */
+    private static final int REGISTRY_LIMIT = 4096;
+
+    private static final ConcurrentMap<String, MimeType> REGISTRY = new ConcurrentHashMap<>();
+
+    private static final String VENDOR_PREFIX = "vnd.";
+
     /**
      * @see  #TEXT_SUBJECT
      */
@@ -74,7 +93,7 @@ public final class MimeType {
      *
      * <p>For example an email or message subject line, describing the contents.</p>
      */
-    public static final MimeType TEXT_SUBJECT = MimeType.of(TEXT_SUBJECT_VAL);
+    public static final MimeType TEXT_SUBJECT = MimeType.valueOf(TEXT_SUBJECT_VAL);
 
     /**
      * The description should, in a summary or short amount of text, give information about some content: <code>
@@ -83,7 +102,7 @@ public final class MimeType {
      * <p>For example a clarification on some piece of information, such as it's type, structure or classification -
      * currently used to describe the domain type of a search-result.</p>
      */
-    public static final MimeType TEXT_DESCRIPTION = MimeType.of(TEXT_DESCRIPTION_VAL);
+    public static final MimeType TEXT_DESCRIPTION = MimeType.valueOf(TEXT_DESCRIPTION_VAL);
 
     /**
      * Some text that represents the full content of some information: <code> {@value #TEXT_BODY_VAL}</code>
@@ -91,7 +110,7 @@ public final class MimeType {
      * <p>For example a message body, from a service or machine, that has to be sent and persisted in multiple
      * languages.</p>
      */
-    public static final MimeType TEXT_BODY = MimeType.of(TEXT_BODY_VAL);
+    public static final MimeType TEXT_BODY = MimeType.valueOf(TEXT_BODY_VAL);
 
     /**
      * Describes an application icon image resource reference, such as a path or a URI: <code>
@@ -106,30 +125,113 @@ public final class MimeType {
      *
      * @since  0.2
      */
-    public static final MimeType TEXT_APPICON = MimeType.of(TEXT_APPICON_VAL);
+    public static final MimeType TEXT_APPICON = MimeType.valueOf(TEXT_APPICON_VAL);
 
     /**
      * Describes an application binary image icon <code>{@value #IMAGE_APPICON_VAL}</code>.
      *
      * @since  0.2
      */
-    public static final MimeType IMAGE_APPICON = MimeType.of(IMAGE_APPICON_VAL);
+    public static final MimeType IMAGE_APPICON = MimeType.valueOf(IMAGE_APPICON_VAL);
 
     private final String mimeType;
+    private final int hash;
+    private final String type;
+    private final String vendor;
+    private final String name;
+    private final String subtype;
+    private final String params;
+    private final Map<String, String> parameters;
+    private final boolean text;
 
     /**
      * Constructs a new mime type with the given value.
      *
      * <p>Absolutely <strong>no checks or validations made</strong>. The provided mime type string will be used
-     * as-is.</p>
+     * as-is. A {@code null} value is accepted, and leaves all parsed parts {@code null}.</p>
+     *
+     * <p>Prefer {@link #valueOf(String)}, which returns a shared canonical instance.</p>
      *
      * @param  mimeType  value to create
      */
     public MimeType(String mimeType) {
 
         this.mimeType = mimeType;
+        this.hash = Objects.hashCode(mimeType);
+
+        if (mimeType == null) {
+            this.params = null;
+            this.parameters = Collections.emptyMap();
+            this.type = null;
+            this.subtype = null;
+            this.vendor = null;
+            this.name = null;
+            this.text = false;
+
+            return;
+        }
+
+        String head = mimeType;
+        int semicolon = head.indexOf(';');
+        this.params = semicolon < 0 ? null : head.substring(semicolon + 1);
+        this.parameters = parseParameters(params);
+        head = semicolon < 0 ? head : head.substring(0, semicolon);
+
+        int slash = head.indexOf('/');
+        this.type = slash < 0 ? head : head.substring(0, slash);
+
+        String tree = slash < 0 ? null : head.substring(slash + 1);
+        int plus = tree == null ? -1 : tree.indexOf('+');
+        this.subtype = plus < 0 ? null : tree.substring(plus + 1);
+        tree = plus < 0 ? tree : tree.substring(0, plus);
+
+        int dot = tree != null && tree.startsWith(VENDOR_PREFIX) ? tree.lastIndexOf('.') : -1;
+        this.vendor = dot < VENDOR_PREFIX.length() ? null : tree.substring(0, dot);
+        this.name = dot < VENDOR_PREFIX.length() ? tree : tree.substring(dot + 1);
+
+        this.text = mimeType.startsWith("text");
     }
 
+    /**
+     * Returns the canonical mime type instance for the given value.
+     *
+     * <p>Repeated calls with equal values return the same instance, as long as the internal registry has not reached
+     * its limit of 4096 distinct values. The registry is never cleared, and is also filled by the values of every
+     * content entry read from JSON, so input with many distinct mime types can reach the limit for the lifetime of the
+     * class. From then on, values not registered before get a new, non-canonical instance on every call. Equality
+     * must therefore always be checked with {@link #equals(Object)}, which short-circuits on identity, and never by
+     * reference.</p>
+     *
+     * @param  mimeType  value of the mime type, may be {@code null}
+     *
+     * @return  the canonical mime type instance, or a new instance without any parts for {@code null}
+     *
+     * @since  0.5
+     */
+    public static MimeType valueOf(String mimeType) {
+
+        if (mimeType == null) {
+            return new MimeType(null);
+        }
+
+        MimeType canonical = REGISTRY.get(mimeType);
+
+        if (canonical != null) {
+            return canonical;
+        }
+
+        canonical = new MimeType(mimeType);
+
+        if (REGISTRY.size() >= REGISTRY_LIMIT) {
+            return canonical;
+        }
+
+        MimeType existing = REGISTRY.putIfAbsent(mimeType, canonical);
+
+        return existing == null ? canonical : existing;
+    }
+
+
     /**
      * Returns the mime type value for this instance.
      *
@@ -142,22 +244,122 @@ public final class MimeType {
 
 
     /**
-     * Private static factory class, used for constant static mime type declarations.
+     * Returns the top-level type, for example {@code text} in {@code text/vnd.contargo.appicon+uri;class=small}.
+     *
+     * @return  the type, only {@code null} for a mime type created from {@code null}
+     *
+     * @since  0.5
+     */
+    public String getType() {
+
+        return type;
+    }
+
+
+    /**
+     * Returns the vendor tree, for example {@code vnd.contargo} in {@code text/vnd.contargo.appicon+uri;class=small}.
+     *
+     * @return  the vendor, or {@code null} if this is not a vendor mime type
+     *
+     * @since  0.5
+     */
+    public String getVendor() {
+
+        return vendor;
+    }
+
+
+    /**
+     * Returns the name, for example {@code appicon} in {@code text/vnd.contargo.appicon+uri;class=small}. For mime
+     * types without a vendor tree, this is the complete part following the type.
+     *
+     * @return  the name, or {@code null} if the mime type has no {@code /} separator
+     *
+     * @since  0.5
+     */
+    public String getName() {
+
+        return name;
+    }
+
+
+    /**
+     * Returns the subtype suffix, for example {@code uri} in {@code text/vnd.contargo.appicon+uri;class=small}.
      *
-     * @param  mimeTypeValue  string for the mime type to create
+     * @return  the subtype, or {@code null} if it does not exist
      *
-     * @return  a new instance of a mime type with the given value
+     * @since  0.5
      */
-    private static MimeType of(String mimeTypeValue) {
+    public String getSubtype() {
 
-        return new MimeType(mimeTypeValue);
+        return subtype;
+    }
+
+
+    /**
+     * Returns the parameters, for example {@code class=small} in {@code text/vnd.contargo.appicon+uri;class=small}.
+     *
+     * @return  the parameters, or {@code null} if they do not exist
+     *
+     * @since  0.5
+     */
+    public String getParams() {
+
+        return params;
+    }
+
+
+    /**
+     * Returns the parameters as name and value pairs, for example {@code class} mapped to {@code small} in
+     * {@code text/vnd.contargo.appicon+uri;class=small}. Names and values are trimmed, and a parameter without
+     * {@code =} has an empty value.
+     *
+     * @return  an unmodifiable map of the parameters in order, empty if there are none
+     *
+     * @since  0.5
+     */
+    public Map<String, String> getParameters() {
+
+        return parameters;
+    }
+
+
+    /**
+     * Returns whether content of this mime type is textual, and not binary.
+     *
+     * @return  {@code true} for text mime types, otherwise {@code false}
+     */
+    boolean isText() {
+
+        return text;
+    }
+
+
+    private static Map<String, String> parseParameters(String params) {
+
+        if (params == null) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, String> parsed = new LinkedHashMap<>();
+
+        for (String param : params.split(";")) {
+            int equals = param.indexOf('=');
+            String name = (equals < 0 ? param : param.substring(0, equals)).trim();
+
+            if (!name.isEmpty()) {
+                parsed.putIfAbsent(name, equals < 0 ? "" : param.substring(equals + 1).trim());
+            }
+        }
+
+        return Collections.unmodifiableMap(parsed);
     }
 
 
     @Override
     public int hashCode() {
 
-        return Objects.hashCode(mimeType);
+        return hash;
     }
 
 
@@ -177,7 +379,9 @@ public final class MimeType {
         }
 
         if (obj instanceof MimeType) {
-            return Objects.equals(mimeType, ((MimeType) obj).mimeType);
+            MimeType other = (MimeType) obj;
+
+            return hash == other.hash && Objects.equals(mimeType, other.mimeType);
         }
 
         return false;
@@ -189,10 +393,11 @@ public final class MimeType {
      *
      * @param  params  to append
      *
-     * @return  the mime type with the given parameters appended after the semicolon ({@code ;}) separator character
+     * @return  the canonical mime type with the given parameters appended after the semicolon ({@code ;}) separator
+     *          character
      */
     public MimeType withParams(String params) {
 
-        return new MimeType(String.format("%s;%s", mimeType, params));
+        return valueOf(mimeType + ';' + params);
     }
 }
@@ -0,0 +1,153 @@
+package net.contargo.content;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+
+
+/**
+ * Pattern matching mime types by their parsed parts, for querying contents with
+ * {@link Contents#query(MimeTypePattern)}.
+ *
+ * <p>Patterns use the structure of {@link MimeType}, where {@code *} matches any value of a part:</p>
+ *
+ * <ul>
+ *   <li>{@code text/*} matches all text mime types</li>
+ *   <li>{@code *}{@code /vnd.contargo.appicon} matches the {@code appicon} name of any type, with any subtype and
+ *     parameters</li>
+ *   <li>{@code text/vnd.contargo.*} matches all text mime types of the {@code vnd.contargo} vendor</li>
+ *   <li>{@code text/vnd.contargo.appicon+uri} matches only the {@code uri} subtype</li>
+ *   <li>{@code text/*;class=small} matches text mime types with the {@code class} parameter {@code small}, and
+ *     {@code text/*;class=*} those with any {@code class} parameter</li>
+ * </ul>
+ *
+ * <p>A pattern without subtype matches any subtype, and a pattern without parameters matches any parameters. Further
+ * parameter predicates can be added with {@link #withParam(String, Predicate)}. Matching compares the parts, parsed
+ * once per mime type, and never parses strings. Patterns are immutable and thread-safe.</p>
+ *
+ * @since  0.5
+ */
+public final class MimeTypePattern {
+
+    private static final String ANY = "*";
+
+    private final String pattern;
+    private final String type;
+    private final String vendor;
+    private final String name;
+    private final String subtype;
+    private final Map<String, Predicate<? super String>> params;
+
+    private MimeTypePattern(String pattern, String type, String vendor, String name, String subtype,
+        Map<String, Predicate<? super String>> params) {
+
+        this.pattern = pattern;
+        this.type = type;
+        this.vendor = vendor;
+        this.name = name;
+        this.subtype = subtype;
+        this.params = params;
+    }
+
+    /**
+     * Compiles the given pattern.
+     *
+     * @param  pattern  to compile, for example {@code text/*}
+     *
+     * @return  the compiled pattern
+     *
+     * @throws  IllegalArgumentException  if the pattern has no {@code /} separator
+     */
+    public static MimeTypePattern compile(String pattern) {
+
+        MimeType parsed = new MimeType(pattern);
+
+        if (parsed.getName() == null) {
+            throw new IllegalArgumentException("Mime type pattern must have a type and a name: " + pattern);
+        }
+
+        Map<String, Predicate<? super String>> params = new LinkedHashMap<>();
+
+        for (Map.Entry<String, String> param : parsed.getParameters().entrySet()) {
+            String value = param.getValue();
+            params.put(param.getKey(), ANY.equals(value) ? v -> true : value::equals);
+        }
+
+        return new MimeTypePattern(pattern, anyToNull(parsed.getType()), parsed.getVendor(),
+                anyToNull(parsed.getName()), anyToNull(parsed.getSubtype()), Collections.unmodifiableMap(params));
+    }
+
+
+    /**
+     * Returns a pattern, additionally requiring the given parameter to be present with a matching value.
+     *
+     * @param  param  name of the parameter
+     * @param  predicate  the parameter value must match
+     *
+     * @return  a new pattern
+     */
+    public MimeTypePattern withParam(String param, Predicate<? super String> predicate) {
+
+        Map<String, Predicate<? super String>> extended = new LinkedHashMap<>(params);
+        extended.merge(param, predicate, (a, b) -> value -> a.test(value) && b.test(value));
+
+        return new MimeTypePattern(pattern, type, vendor, name, subtype, Collections.unmodifiableMap(extended));
+    }
+
+
+    /**
+     * Returns whether the given mime type matches this pattern.
+     *
+     * @param  mimeType  to match
+     *
+     * @return  {@code true} if it matches, otherwise {@code false}
+     */
+    public boolean matches(MimeType mimeType) {
+
+        if (type != null && !type.equals(mimeType.getType())) {
+            return false;
+        }
+
+        if (vendor != null && !vendor.equals(mimeType.getVendor())) {
+            return false;
+        }
+
+        if (name != null && (!name.equals(mimeType.getName()) || (vendor == null && mimeType.getVendor() != null))) {
+            return false;
+        }
+
+        if (subtype != null && !subtype.equals(mimeType.getSubtype())) {
+            return false;
+        }
+
+        if (params.isEmpty()) {
+            return true;
+        }
+
+        Map<String, String> parameters = mimeType.getParameters();
+
+        for (Map.Entry<String, Predicate<? super String>> param : params.entrySet()) {
+            String value = parameters.get(param.getKey());
+
+            if (value == null || !param.getValue().test(value)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+
+    private static String anyToNull(String part) {
+
+        return ANY.equals(part) ? null : part;
+    }
+
+
+    @Override
+    public String toString() {
+
+        return pattern;
+    }
+}
@@ -0,0 +1,225 @@
+package net.contargo.content;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.MissingResourceException;
+import java.util.Objects;
+import java.util.ResourceBundle;
+
+
+/**
+ * Factory for contents holding every available localization of a resource bundle key.
+ *
+ * <p>For a bundle base name, key and mime type, the factory returns contents with an unlocalized entry from the base
+ * bundle, and one localized entry for each supported locale that has its own bundle defining the key. Bundles are
+ * loaded on their own, without parents, so values only inherited from a parent bundle are not repeated as localized
+ * entries, while values a bundle defines itself always are.</p>
+ *
+ * <p>Entries start with the base bundle, followed by the localized entries ordered from less to more specific locales,
+ * languages before countries before variants, and in the order the locales were given among equally specific ones.
+ * </p>
+ *
+ * <p>Results are kept in a bounded cache, evicting the least recently used entries, keyed on bundle base name, key
+ * and mime type. The bundles available for a base name are discovered once, and cached as well. Resource bundles are
+ * expected not to change at runtime. Instances are thread-safe, and the returned contents may be shared.</p>
+ *
+ * @since  0.5
+ */
+public final class ResourceBundleContents {
+
+    private static final int DEFAULT_MAXIMUM_SIZE = 1024;
+    private static final int MAXIMUM_BUNDLES = 64;
+
+    private static final ResourceBundle.Control CONTROL = ResourceBundle.Control.getNoFallbackControl(
+            ResourceBundle.Control.FORMAT_DEFAULT);
+
+    private final List<Locale> locales;
+    private final ClassLoader classLoader;
+    private final BoundedCache<Key, Contents> contents;
+    private final BoundedCache<String, Map<Locale, ResourceBundle>> bundles = new BoundedCache<>(MAXIMUM_BUNDLES);
+
+    /**
+     * Creates a factory for all locales available in the runtime.
+     *
+     * <p>NOTE: Discovering the bundles of a base name probes each of several hundred locales once.</p>
+     */
+    public ResourceBundleContents() {
+
+        this(Arrays.asList(Locale.getAvailableLocales()));
+    }
+
+
+    /**
+     * Creates a factory for the given supported locales.
+     *
+     * @param  locales  supported, in the order of entries with equally specific locales
+     */
+    public ResourceBundleContents(Collection<Locale> locales) {
+
+        this(locales, DEFAULT_MAXIMUM_SIZE, ResourceBundleContents.class.getClassLoader());
+    }
+
+
+    /**
+     * Creates a factory for the given supported locales.
+     *
+     * @param  locales  supported, in the order of entries with equally specific locales
+     * @param  maximumSize  of the contents cache
+     * @param  classLoader  to load bundles with
+     */
+    public ResourceBundleContents(Collection<Locale> locales, int maximumSize, ClassLoader classLoader) {
+
+        this.locales = Collections.unmodifiableList(new ArrayList<>(locales));
+        this.classLoader = Objects.requireNonNull(classLoader, "Missing class loader");
+        this.contents = new BoundedCache<>(maximumSize);
+    }
+
+    /**
+     * Returns the contents for the given bundle key.
+     *
+     * @param  baseName  of the resource bundle
+     * @param  key  of the value
+     * @param  mimeType  of the content entries
+     *
+     * @return  the contents, with entries for each localization of the key
+     *
+     * @throws  MissingResourceException  if no bundle exists for the base name
+     */
+    public Contents get(String baseName, String key, MimeType mimeType) {
+
+        return contents.get(new Key(baseName, key, mimeType), this::load);
+    }
+
+
+    private Contents load(Key key) {
+
+        Map<Locale, ResourceBundle> available = bundles.get(key.baseName, this::discover);
+        ArrayList<Content> entries = new ArrayList<>(available.size());
+
+        for (Map.Entry<Locale, ResourceBundle> bundle : available.entrySet()) {
+            if (!bundle.getValue().containsKey(key.key)) {
+                continue;
+            }
+
+            Locale locale = bundle.getKey();
+            String value = bundle.getValue().getString(key.key);
+
+            entries.add(Locale.ROOT.equals(locale) ? new Content(key.mimeType, value)
+                                                   : new Content(key.mimeType, value, locale));
+        }
+
+        return Contents.adopt(entries);
+    }
+
+
+    /**
+     * Finds the base bundle and the bundles of exactly the supported locales, ordered so that parents come first.
+     * Bundles are created directly through the control, bypassing the cache of {@link ResourceBundle}, so that they
+     * have no parents, and {@link ResourceBundle#containsKey(String)} only sees their own keys.
+     */
+    private Map<Locale, ResourceBundle> discover(String baseName) {
+
+        Map<Locale, ResourceBundle> available = new LinkedHashMap<>();
+
+        for (Locale locale : withRoot()) {
+            ResourceBundle bundle = newBundle(baseName, locale);
+
+            if (bundle != null) {
+                available.put(locale, bundle);
+            }
+        }
+
+        if (available.isEmpty()) {
+            throw new MissingResourceException("Can't find bundle for base name " + baseName, baseName, "");
+        }
+
+        return Collections.unmodifiableMap(available);
+    }
+
+
+    private ResourceBundle newBundle(String baseName, Locale locale) {
+
+        for (String format : CONTROL.getFormats(baseName)) {
+            try {
+                ResourceBundle bundle = CONTROL.newBundle(baseName, locale, format, classLoader, false);
+
+                if (bundle != null) {
+                    return bundle;
+                }
+            } catch (IllegalAccessException | InstantiationException | IOException | ClassCastException e) {
+                // Not available in this format, the same as with ResourceBundle.getBundle
+            }
+        }
+
+        return null;
+    }
+
+
+    private List<Locale> withRoot() {
+
+        List<Locale> all = new ArrayList<>(locales.size() + 1);
+        all.add(Locale.ROOT);
+        locales.stream()
+            .filter(l -> !Locale.ROOT.equals(l))
+            .distinct()
+            .sorted((a, b) -> Integer.compare(specificity(a), specificity(b)))
+            .forEach(all::add);
+
+        return all;
+    }
+
+
+    private static int specificity(Locale locale) {
+
+        return (locale.getLanguage().isEmpty() ? 0 : 1) + (locale.getCountry().isEmpty() ? 0 : 1)
+            + (locale.getVariant().isEmpty() ? 0 : 1);
+    }
+
+    /**
+     * Cache key of bundle base name, key and mime type.
+     */
+    private static final class Key {
+
+        private final String baseName;
+        private final String key;
+        private final MimeType mimeType;
+
+        private Key(String baseName, String key, MimeType mimeType) {
+
+            this.baseName = baseName;
+            this.key = key;
+            this.mimeType = mimeType;
+        }
+
+        @Override
+        public int hashCode() {
+
+            return Objects.hash(baseName, key, mimeType);
+        }
+
+
+        @Override
+        public boolean equals(Object obj) {
+
+            if (this == obj) {
+                return true;
+            }
+
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+
+            Key other = (Key) obj;
+
+            return baseName.equals(other.baseName) && key.equals(other.key) && mimeType.equals(other.mimeType);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+
+
+/**
+ * Binary content backed by an input stream, which is consumed exactly once.
+ *
+ * <p>If the content is serialized before it is accessed, the stream is Base64 encoded straight into the output, never
+ * holding the whole payload on the heap. If it is accessed first, the stream is read fully and the bytes are kept for
+ * any following access or serialization. The stream is closed once consumed.</p>
+ *
+ * @since  0.5
+ */
+final class StreamedBinary implements DeferredContent {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private InputStream source;
+    private byte[] bytes;
+
+    StreamedBinary(InputStream source) {
+
+        this.source = source;
+    }
+
+    /**
+     * Returns the content bytes, reading the stream fully on the first call.
+     *
+     * @throws  IllegalStateException  if the stream has already been consumed by serialization
+     * @throws  UncheckedIOException  if reading the stream fails
+     */
+    @Override
+    public synchronized byte[] get() {
+
+        if (bytes == null) {
+            try(InputStream in = consume()) {
+                ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+                byte[] buffer = new byte[BUFFER_SIZE];
+
+                for (int n = in.read(buffer); n >= 0; n = in.read(buffer)) {
+                    out.write(buffer, 0, n);
+                }
+
+                bytes = out.toByteArray();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read binary content stream", e);
+            }
+        }
+
+        return bytes;
+    }
+
+
+    /**
+     * Writes the content as Base64, encoding it while it is read from the stream, unless it has already been read.
+     *
+     * @throws  IllegalStateException  if the stream has already been consumed by serialization
+     */
+    @Override
+    public synchronized void serialize(JsonGenerator gen, SerializerProvider provider) throws IOException {
+
+        if (bytes != null) {
+            gen.writeBinary(provider.getConfig().getBase64Variant(), bytes, 0, bytes.length);
+
+            return;
+        }
+
+        try(InputStream in = consume()) {
+            gen.writeBinary(provider.getConfig().getBase64Variant(), in, -1);
+        }
+    }
+
+
+    /**
+     * Returns whether the stream has been consumed by serialization, without keeping the bytes.
+     *
+     * @return  {@code true} if the content is no longer available, otherwise {@code false}
+     */
+    synchronized boolean isConsumed() {
+
+        return source == null && bytes == null;
+    }
+
+
+    /**
+     * Returns this instance, as the stream can not be compared without consuming it.
+     */
+    @Override
+    public Object comparable() {
+
+        return this;
+    }
+
+
+    /**
+     * Returns {@code true}, streamed content is always binary.
+     */
+    @Override
+    public boolean isBinary() {
+
+        return true;
+    }
+
+
+    private InputStream consume() {
+
+        InputStream in = source;
+
+        if (in == null) {
+            throw new IllegalStateException("Binary content stream has already been consumed");
+        }
+
+        source = null;
+
+        return in;
+    }
+}
@@ -0,0 +1,24 @@
+package net.contargo.content;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+
+public class BoundedCacheTest {
+
+    @Test
+    public void ensureEvictsLeastRecentlyUsed() throws Exception {
+
+        BoundedCache<String, String> cache = new BoundedCache<>(2);
+
+        cache.get("a", String::toUpperCase);
+        cache.get("b", String::toUpperCase);
+        cache.get("a", k -> "unexpected");
+        cache.get("c", String::toUpperCase);
+
+        assertEquals(2, cache.size());
+        assertEquals("A", cache.get("a", k -> "reloaded"));
+        assertEquals("reloaded", cache.get("b", k -> "reloaded"));
+    }
+}
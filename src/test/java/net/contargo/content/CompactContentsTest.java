@@ -0,0 +1,51 @@
+package net.contargo.content;
+
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+
+public class CompactContentsTest {
+
+    @Test
+    public void ensureKeepsEntriesAndLookups() throws Exception {
+
+        List<Content> contents = Contents.withMimeType(MimeType.TEXT_BODY)
+                .andValue("first")
+                .andValue("erste", Locale.GERMAN)
+                .andValue("zweite", Locale.GERMANY)
+                .andWithMimeType(new MimeType("text/vnd.contargo.body;foo"))
+                .andValue("variant")
+                .andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 })
+                .asList();
+
+        CompactContents compact = CompactContents.of(contents);
+
+        assertEquals(contents, compact.asList());
+        assertEquals(5, compact.size());
+        assertEquals("first", compact.forMimeType(MimeType.TEXT_BODY));
+        assertEquals("variant", compact.forMimeType(MimeType.TEXT_BODY.withParams("foo")));
+        assertEquals("erste", compact.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.GERMANY));
+        assertNull(compact.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.ENGLISH));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) compact.forMimeType(MimeType.IMAGE_APPICON));
+    }
+
+
+    @Test
+    public void ensureSupportsUnlocalizedContents() throws Exception {
+
+        CompactContents compact = CompactContents.of(Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                    .andValue("subject")
+                    .asList());
+
+        assertEquals("subject", compact.forMimeType(MimeType.TEXT_SUBJECT));
+        assertNull(compact.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.ENGLISH));
+        assertNull(compact.asList().get(0).getLocale());
+    }
+}
@@ -0,0 +1,139 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class ContentCompressionTest {
+
+    private static final String BODY = String.join(" ", Collections.nCopies(200, "Container ready for pickup."));
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    public void ensureCompressesLargeTextWithDeflate() throws Exception {
+
+        assertRoundTrip(ContentCompression.deflate(1024), "text/vnd.contargo.body;encoding=deflate");
+    }
+
+
+    @Test
+    public void ensureCompressesLargeTextWithGzip() throws Exception {
+
+        assertRoundTrip(ContentCompression.gzip(1024), "text/vnd.contargo.body;encoding=gzip");
+    }
+
+
+    @Test
+    public void ensureKeepsTextBelowThresholdUncompressed() throws Exception {
+
+        List<Content> contents = Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Ready").asList();
+
+        String json = writer(ContentCompression.deflate(1024)).writeValueAsString(contents);
+
+        assertEquals("[{\"mimeType\":\"text/vnd.contargo.subject\",\"content\":\"Ready\"}]", json);
+    }
+
+
+    @Test
+    public void ensureWritesReadCompressedContentUncompressedByDefault() throws Exception {
+
+        List<Content> contents = Contents.withMimeType(MimeType.TEXT_BODY).andValue(BODY).asList();
+        String compressed = writer(ContentCompression.deflate(1024)).writeValueAsString(contents);
+
+        Content[] read = reader(ContentCompression.gzip(1024)).readValue(compressed);
+
+        assertEquals(mapper.writeValueAsString(contents), mapper.writeValueAsString(read));
+        assertEquals(compressed, writer(ContentCompression.deflate(1024)).writeValueAsString(read));
+    }
+
+
+    @Test
+    public void ensureKeepsFlaggedContentWithoutCompressionAttribute() throws Exception {
+
+        List<Content> contents = Contents.withMimeType(MimeType.TEXT_BODY).andValue(BODY).asList();
+        String compressed = writer(ContentCompression.deflate(1024)).writeValueAsString(contents);
+
+        Content[] read = mapper.readValue(compressed, Content[].class);
+
+        assertEquals("text/vnd.contargo.body;encoding=deflate", read[0].getMimeType());
+        assertEquals(compressed, mapper.writeValueAsString(read));
+    }
+
+
+    @Test
+    public void ensureLimitsDecompressedSize() throws Exception {
+
+        String bomb = String.join("", Collections.nCopies(1024 * 1024, "0"));
+        List<Content> contents = Contents.withMimeType(MimeType.TEXT_BODY).andValue(bomb).asList();
+        String compressed = writer(ContentCompression.gzip(1024)).writeValueAsString(contents);
+
+        assertTrue(compressed.length() < 4096);
+
+        Content[] read = reader(ContentCompression.gzip(1024).withMaximumSize(64 * 1024)).readValue(compressed);
+
+        try {
+            read[0].getContent();
+            fail("Expected decompression to stop at the maximum size");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("maximum size"));
+        }
+
+        assertEquals(bomb, ((Content[]) reader(ContentCompression.gzip(1024)).readValue(compressed))[0].getContent());
+    }
+
+
+    @Test
+    public void ensureIgnoresEncodingParameterOfBinaryContent() throws Exception {
+
+        Content[] read = reader(ContentCompression.gzip(1024)).readValue(
+                "[{\"content\":\"AQI=\",\"mimeType\":\"image/png;encoding=gzip\"}]");
+
+        assertEquals("image/png;encoding=gzip", read[0].getMimeType());
+        assertEquals(2, read[0].getBinaryContent().length);
+    }
+
+
+    private void assertRoundTrip(ContentCompression compression, String flaggedMimeType) throws Exception {
+
+        List<Content> contents = Contents.withMimeType(MimeType.TEXT_BODY)
+                .andValue(BODY, Locale.ENGLISH)
+                .asList();
+
+        String json = writer(compression).writeValueAsString(contents);
+
+        assertTrue(json.contains(flaggedMimeType));
+        assertFalse(json.contains("Container"));
+        assertTrue(json.length() < BODY.length() / 4);
+
+        Contents read = new Contents(Arrays.asList((Content[]) reader(compression).readValue(json)));
+
+        assertEquals(BODY, read.forMimeType(MimeType.TEXT_BODY));
+        assertEquals(MimeType.TEXT_BODY_VAL, read.asList().get(0).getMimeType());
+    }
+
+
+    private ObjectReader reader(ContentCompression compression) {
+
+        return mapper.readerFor(Content[].class).withAttribute(ContentCompression.class, compression);
+    }
+
+
+    private ObjectWriter writer(ContentCompression compression) {
+
+        return mapper.writer().withAttribute(ContentCompression.class, compression);
+    }
+}
@@ -0,0 +1,66 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+
+public class ContentInternerTest {
+
+    private static final String JSON = "[{\"locale\":\"de\",\"content\":\"Hallo\",\"mimeType\":\"text/vnd.contargo.body\"},"
+        + "{\"locale\":\"de\",\"content\":\"Hallo\",\"mimeType\":\"text/vnd.contargo.subject\"}]";
+
+    @Test
+    public void ensureDeduplicatesLocalesAndTexts() throws Exception {
+
+        ContentInterner interner = new ContentInterner();
+        ObjectReader reader = new ObjectMapper().readerFor(Content[].class).withAttribute(ContentInterner.class,
+                interner);
+
+        Content[] first = reader.readValue(JSON);
+        Content[] second = reader.readValue(JSON);
+
+        assertSame(first[0].getLocale(), second[1].getLocale());
+        assertSame(first[0].getContent(), second[1].getContent());
+        assertSame(first[0].mimeType(), second[0].mimeType());
+
+        ContentInterner.Statistics statistics = interner.getStatistics();
+        assertEquals(3, statistics.getLocaleHits());
+        assertEquals(3, statistics.getTextHits());
+        assertEquals(2, statistics.getMisses());
+        assertTrue(statistics.getEstimatedBytesSaved() > 0);
+    }
+
+
+    @Test
+    public void ensureDoesNotDeduplicateWithoutInterner() throws Exception {
+
+        Content[] contents = new ObjectMapper().readValue(JSON, Content[].class);
+
+        assertNotSame(contents[0].getLocale(), contents[1].getLocale());
+    }
+
+
+    @Test
+    public void ensureRespectsLimits() throws Exception {
+
+        ContentInterner interner = new ContentInterner(1, 3);
+
+        String longText = new String("long text");
+        interner.intern("long text");
+
+        assertSame(longText, interner.intern(longText));
+
+        interner.intern("a");
+        interner.intern("b");
+
+        assertEquals(1, interner.getStatistics().getMisses());
+        assertEquals(1, interner.getStatistics().getRejected());
+    }
+}
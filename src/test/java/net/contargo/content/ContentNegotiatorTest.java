@@ -0,0 +1,117 @@
+package net.contargo.content;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+
+public class ContentNegotiatorTest {
+
+    private static final Locale SWISS_GERMAN = new Locale("de", "CH");
+
+    private final ContentNegotiator negotiator = new ContentNegotiator(Locale.ENGLISH);
+
+    private final Contents contents = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hello", Locale.ENGLISH)
+                .andValue("Hallo", Locale.GERMAN)
+                .andValue("Grüezi", SWISS_GERMAN)
+                .andValue("Bonjour", Locale.FRENCH)
+                .andWithMimeType(MimeType.TEXT_BODY)
+                .andValue("Body", Locale.ENGLISH)
+                .andValue("Default body")
+                .asList());
+
+    @Test
+    public void ensurePrefersExactLocaleThenLanguage() {
+
+        assertEquals("Grüezi", value("de-CH,de;q=0.9"));
+        assertEquals("Hallo", value("de-AT,fr;q=0.9"));
+        assertEquals("Hallo", value("de"));
+    }
+
+
+    @Test
+    public void ensureFollowsWeights() {
+
+        assertEquals("Bonjour", value("de;q=0.5,fr;q=0.8"));
+        assertEquals("Bonjour", value("it,fr;q=0.1"));
+    }
+
+
+    @Test
+    public void ensureFallsBackToUnlocalizedThenDefaultLocale() {
+
+        assertEquals("Default body",
+            negotiator.negotiate(contents, MimeType.TEXT_BODY, "sv").getContent());
+        assertEquals("Hello", value("sv"));
+        assertEquals("Hello", value(null));
+        assertEquals("Hello", value("not a valid ; header"));
+    }
+
+
+    @Test
+    public void ensureMatchesWildcard() {
+
+        assertEquals("Hello", value("fr;q=0"));
+        assertEquals("Hello", value("sv,*;q=0.5"));
+    }
+
+
+    @Test
+    public void ensureExcludesZeroWeights() {
+
+        Contents french = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Bonjour", Locale.FRENCH)
+                .andValue("Grüezi", SWISS_GERMAN)
+                .andValue("Hallo", Locale.GERMAN)
+                .andValue("Default")
+                .asList());
+        ContentNegotiator frenchDefault = new ContentNegotiator(Locale.FRENCH);
+
+        assertEquals("Grüezi", negotiate(frenchDefault, french, "*,fr;q=0"));
+        assertEquals("Default", negotiate(frenchDefault, french, "fr;q=0"));
+        assertEquals("Hallo", negotiate(frenchDefault, french, "*,de-CH;q=0,fr;q=0"));
+        assertEquals("Grüezi", negotiate(frenchDefault, french, "de-CH,de;q=0"));
+
+        Contents localized = new Contents(french.asList().subList(0, 3));
+
+        assertNull(frenchDefault.negotiate(localized, MimeType.TEXT_SUBJECT, "sv,*;q=0"));
+        assertNull(frenchDefault.negotiate(new Contents(french.asList().subList(0, 1)), MimeType.TEXT_SUBJECT,
+                "*,fr;q=0"));
+    }
+
+
+    @Test
+    public void ensureNegotiatesLanguageRanges() {
+
+        Content content = negotiator.negotiate(contents, MimeType.TEXT_SUBJECT,
+                Locale.LanguageRange.parse("de-CH;q=0.2,fr;q=0.4"));
+
+        assertEquals(Locale.FRENCH, content.getLocale());
+    }
+
+
+    @Test
+    public void ensureReturnsNullWithoutMatch() {
+
+        ContentNegotiator withoutDefault = new ContentNegotiator(null);
+
+        assertNull(withoutDefault.negotiate(contents, MimeType.TEXT_SUBJECT, "sv"));
+        assertNull(negotiator.negotiate(contents, MimeType.TEXT_APPICON, "en"));
+    }
+
+
+    private static Object negotiate(ContentNegotiator negotiator, Contents contents, String acceptLanguage) {
+
+        return negotiator.negotiate(contents, MimeType.TEXT_SUBJECT, acceptLanguage).getContent();
+    }
+
+
+    private Object value(String acceptLanguage) {
+
+        return negotiator.negotiate(contents, MimeType.TEXT_SUBJECT, acceptLanguage).getContent();
+    }
+}
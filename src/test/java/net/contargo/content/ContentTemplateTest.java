@@ -0,0 +1,89 @@
+package net.contargo.content;
+
+import org.junit.Test;
+
+import java.text.MessageFormat;
+
+import java.util.Date;
+import java.util.Locale;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+
+public class ContentTemplateTest {
+
+    @Test
+    public void ensureRendersLocalizedContents() throws Exception {
+
+        ContentTemplate template = ContentTemplate.withMimeType(MimeType.TEXT_SUBJECT)
+                .andPattern("Container {0} delivered")
+                .andPattern("Container {0} zugestellt", Locale.GERMAN)
+                .andWithMimeType(MimeType.TEXT_BODY)
+                .andPattern("{0} is ready at {1}", Locale.ENGLISH)
+                .compile();
+
+        Contents contents = template.render("MSKU 1", "Terminal A");
+
+        assertEquals("Container MSKU 1 delivered", contents.forMimeType(MimeType.TEXT_SUBJECT));
+        assertEquals("Container MSKU 1 zugestellt",
+            contents.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.GERMAN));
+        assertEquals("MSKU 1 is ready at Terminal A",
+            contents.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.ENGLISH));
+    }
+
+
+    @Test
+    public void ensureRendersLikeMessageFormat() throws Exception {
+
+        Object[] args = { 1234.5, "it's", null, new Date(0) };
+
+        for (String pattern : new String[] {
+                    "{0} and {1}", "'{0}' is ''{1}''", "'quoted {0} ''text''' {1}", "{0,number,#.#} {1}", "{2} {3}",
+                    "no arguments", "{1}{0}{1}", "{3} {4}"
+                }) {
+            for (Locale locale : new Locale[] { Locale.ENGLISH, Locale.GERMAN }) {
+                String expected = new MessageFormat(pattern, locale).format(args);
+                String actual = ContentTemplate.compile(pattern, locale).render(args, new StringBuilder());
+
+                assertEquals(pattern, expected, actual);
+            }
+        }
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureRejectsInvalidPatterns() throws Exception {
+
+        ContentTemplate.withMimeType(MimeType.TEXT_SUBJECT).andPattern("{0");
+    }
+
+
+    @Test
+    public void ensureIgnoresBlankRenderedValues() throws Exception {
+
+        Contents contents = ContentTemplate.withMimeType(MimeType.TEXT_SUBJECT).andPattern("{0}").compile().render(" ");
+
+        assertNull(contents.forMimeType(MimeType.TEXT_SUBJECT));
+    }
+
+
+    @Test
+    public void ensureRendersConcurrently() throws Exception {
+
+        ContentTemplate template = ContentTemplate.withMimeType(MimeType.TEXT_SUBJECT)
+                .andPattern("Order {0} of {1,number,integer}", Locale.ENGLISH)
+                .andPattern("Auftrag {0} von {1}", Locale.GERMAN)
+                .compile();
+
+        IntStream.range(0, 1000).parallel().forEach(i -> {
+            Contents contents = template.render(i, 1000);
+
+            assertEquals("Order " + i + " of 1,000",
+                contents.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.ENGLISH));
+            assertEquals("Auftrag " + i + " von 1.000",
+                contents.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.GERMAN));
+        });
+    }
+}
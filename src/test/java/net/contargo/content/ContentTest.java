@@ -1,14 +1,18 @@
 package net.contargo.content;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
 
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+
 import java.util.Locale;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 
@@ -32,6 +36,19 @@ public class ContentTest {
     }
 
 
+    @Test
+    public void ensureAcceptsNullMimeType() throws Exception {
+
+        Content content = new Content((String) null, "value");
+
+        assertNull(content.getMimeType());
+        assertFalse(content.mimeType().isText());
+        assertTrue(content.toString().contains("mimeType=null"));
+        assertEquals(new Content((String) null, "value"), content);
+        assertEquals(new Content((String) null, "value").hashCode(), content.hashCode());
+    }
+
+
     @Test
     public void ensureReadsProperContentFromJSON() throws Exception {
 
@@ -62,4 +79,100 @@ public class ContentTest {
         assertEquals(MimeType.IMAGE_APPICON_VAL, content.getMimeType());
         assertArrayEquals(bytes, (byte[]) content.getContent());
     }
+
+
+    @Test
+    public void ensureReadsContentWithAnyPropertyOrderAndUnknownProperties() throws Exception {
+
+        String json = "{\"content\": \"AQID\", \"extra\": {\"nested\": [1, 2]}, \"locale\": \"de_CH\", "
+            + "\"mimeType\": \"image/vnd.contargo.appicon\"}";
+
+        Content content = new ObjectMapper().readValue(json, Content.class);
+
+        assertEquals(MimeType.IMAGE_APPICON_VAL, content.getMimeType());
+        assertArrayEquals(new byte[] { 1, 2, 3 }, (byte[]) content.getContent());
+        assertEquals(new Locale("de", "CH"), content.getLocale());
+    }
+
+
+    @Test(expected = MismatchedInputException.class)
+    public void ensureFailsForMissingMimeType() throws Exception {
+
+        new ObjectMapper().readValue("{\"content\": \"foo\"}", Content.class);
+    }
+
+
+    @Test(expected = MismatchedInputException.class)
+    public void ensureFailsForStructuredMimeType() throws Exception {
+
+        new ObjectMapper().readValue("{\"mimeType\": {\"mimeType\": \"text/vnd.contargo.body\"}, \"content\": \"foo\"}",
+            Content.class);
+    }
+
+
+    @Test(expected = MismatchedInputException.class)
+    public void ensureFailsForStructuredContent() throws Exception {
+
+        new ObjectMapper().readValue("{\"content\": [\"foo\", {\"mimeType\": \"text/plain\"}], "
+            + "\"mimeType\": \"text/vnd.contargo.body\"}", Content.class);
+    }
+
+
+    @Test
+    public void ensurePassesEncodedBinaryContentThrough() throws Exception {
+
+        String json = "{\"mimeType\":\"image/vnd.contargo.appicon\",\"content\":\"AQID\"}";
+
+        ObjectMapper mapper = new ObjectMapper();
+        Content content = mapper.readValue(json, Content.class);
+
+        assertEquals(json, mapper.writeValueAsString(content));
+        assertArrayEquals(new byte[] { 1, 2, 3 }, content.getBinaryContent());
+        assertEquals(json, mapper.writeValueAsString(content));
+    }
+
+
+    @Test
+    public void ensureComparesWithoutConsumingStreams() throws Exception {
+
+        Contents.Buildable streamed = Contents.withMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+        Content content = streamed.asList().get(0);
+
+        assertEquals(content, content);
+        assertFalse(content.equals(Content.of(MimeType.IMAGE_APPICON, new byte[] { 1, 2, 3 })));
+        assertEquals(content.hashCode(), content.hashCode());
+
+        streamed.asJSON();
+
+        assertEquals(content, content);
+        assertEquals(content.hashCode(), content.hashCode());
+    }
+
+
+    @Test
+    public void ensureComparesInvalidEncodedContentWithoutFailing() throws Exception {
+
+        String json = "{\"content\":\"#not base64#\",\"mimeType\":\"image/vnd.contargo.appicon\"}";
+
+        ObjectMapper mapper = new ObjectMapper();
+        Content content = mapper.readValue(json, Content.class);
+        Content other = mapper.readValue(json, Content.class);
+
+        assertEquals(content, content);
+        assertFalse(content.equals(other));
+        content.hashCode();
+    }
+
+
+    @Test
+    public void ensureComparesEncodedContentByBytes() throws Exception {
+
+        Content content = new ObjectMapper().readValue(
+                "{\"content\":\"AQID\",\"mimeType\":\"image/vnd.contargo.appicon\"}", Content.class);
+        Content bytes = Content.of(MimeType.IMAGE_APPICON, new byte[] { 1, 2, 3 });
+
+        assertEquals(bytes, content);
+        assertEquals(bytes.hashCode(), content.hashCode());
+    }
 }
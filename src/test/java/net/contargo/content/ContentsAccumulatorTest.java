@@ -0,0 +1,49 @@
+package net.contargo.content;
+
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+
+
+public class ContentsAccumulatorTest {
+
+    @Test
+    public void ensureAccumulatesConcurrently() throws Exception {
+
+        ContentsAccumulator accumulator = new ContentsAccumulator();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        String[] languages = Locale.getISOLanguages();
+
+        for (String language : languages) {
+            executor.execute(() -> accumulator.add(MimeType.TEXT_BODY, "Text " + language, new Locale(language)));
+        }
+
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        Contents contents = accumulator.toContents();
+
+        assertEquals(languages.length, contents.asList().size());
+        assertEquals("Text de", contents.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.GERMAN));
+    }
+
+
+    @Test
+    public void ensureIgnoresEmptyValues() throws Exception {
+
+        Contents contents = new ContentsAccumulator().add(MimeType.TEXT_SUBJECT, " ")
+                .add(MimeType.TEXT_SUBJECT, null, Locale.GERMAN)
+                .add(MimeType.IMAGE_APPICON, new byte[0])
+                .add(MimeType.TEXT_SUBJECT, "subject")
+                .toContents();
+
+        assertEquals(1, contents.asList().size());
+        assertEquals("subject", contents.forMimeType(MimeType.TEXT_SUBJECT));
+    }
+}
@@ -0,0 +1,124 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class ContentsCodecTest {
+
+    @Test
+    public void ensureRoundTripsContents() throws Exception {
+
+        Contents.Buildable buildable = Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hello")
+                .andValue("Hallo", Locale.GERMAN)
+                .andValue("Hej", new Locale("sv", "SE"))
+                .andValue("Hoi", new Locale("nl"))
+                .andWithMimeType(MimeType.TEXT_APPICON.withParams("class=small"))
+                .andValue("/icons/small.svg")
+                .andWithMimeType(new MimeType("text/vnd.acme.custom"))
+                .andValue("Custom", new Locale("sv", "SE"))
+                .andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3, -1, 0 });
+
+        List<Content> decoded = ContentsCodec.decode(buildable.asBinary());
+
+        assertEquals(buildable.asList(), decoded);
+
+        Contents contents = new Contents(decoded);
+        assertEquals("Hej", contents.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, new Locale("sv")));
+        assertArrayEquals(new byte[] { 1, 2, 3, -1, 0 }, (byte[]) contents.forMimeType(MimeType.IMAGE_APPICON));
+    }
+
+
+    @Test
+    public void ensureRoundTripsDeserializedContents() throws Exception {
+
+        String json = "[{\"content\":\"AQID\",\"mimeType\":\"image/vnd.contargo.appicon\"},"
+            + "{\"locale\":\"de\",\"content\":\"Hallo\",\"mimeType\":\"text/vnd.contargo.body\"}]";
+
+        List<Content> contents = Arrays.asList(new ObjectMapper().readValue(json, Content[].class));
+
+        ByteBuffer buffer = ByteBuffer.wrap(ContentsCodec.encode(contents));
+
+        assertEquals(contents, ContentsCodec.decode(buffer));
+        assertEquals(0, buffer.remaining());
+    }
+
+
+    @Test
+    public void ensureIsSmallerThanJson() throws Exception {
+
+        Contents.Buildable buildable = Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hello", Locale.ENGLISH)
+                .andValue("Hallo", Locale.GERMAN)
+                .andWithMimeType(MimeType.TEXT_BODY)
+                .andValue("Hello world", Locale.ENGLISH)
+                .andValue("Hallo Welt", Locale.GERMAN);
+
+        assertTrue(buildable.asBinary().length * 3 < buildable.asJSON().getBytes(StandardCharsets.UTF_8).length);
+    }
+
+
+    @Test(expected = IOException.class)
+    public void ensureRejectsOtherFormats() throws Exception {
+
+        ContentsCodec.decode("[]".getBytes(StandardCharsets.UTF_8));
+    }
+
+
+    @Test(expected = IOException.class)
+    public void ensureRejectsLengthBeyondRemainingInput() throws Exception {
+
+        byte[] corrupt = { (byte) 0xCC, 1, 1, 0, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07, 'x' };
+
+        ContentsCodec.decode(ByteBuffer.wrap(corrupt));
+    }
+
+
+    @Test
+    public void ensureRejectsVarIntsExceeding32Bits() throws Exception {
+
+        byte[][] corrupt = {
+            { (byte) 0xCC, 1, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x10 },
+            { (byte) 0xCC, 1, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x00 }
+        };
+
+        for (byte[] bytes : corrupt) {
+            try {
+                ContentsCodec.decode(bytes);
+                fail("Expected malformed variable-length integer to be rejected");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("Malformed variable-length integer"));
+            }
+        }
+    }
+
+
+    @Test(expected = IOException.class)
+    public void ensureRejectsLengthBeyondMaximum() throws Exception {
+
+        byte[] bytes = Contents.withMimeType(MimeType.TEXT_BODY)
+                .andValue(String.join("", Collections.nCopies(100, "x")))
+                .asBinary();
+
+        ContentsCodec.decode(new ByteArrayInputStream(bytes), 64);
+    }
+}
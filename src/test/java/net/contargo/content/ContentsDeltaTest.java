@@ -0,0 +1,229 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import org.junit.Test;
+
+import java.io.IOException;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class ContentsDeltaTest {
+
+    private final Contents previous = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hello", Locale.ENGLISH)
+                .andValue("Hallo", Locale.GERMAN)
+                .andValue("Bonjour", Locale.FRENCH)
+                .andWithMimeType(MimeType.TEXT_BODY)
+                .andValue("first")
+                .andValue("second")
+                .andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 })
+                .asList());
+
+    @Test
+    public void ensureEqualContentsHaveEmptyDelta() {
+
+        Contents copy = new Contents(previous.asList());
+
+        ContentsDelta delta = ContentsDelta.between(previous, copy);
+
+        assertTrue(delta.isEmpty());
+        assertTrue(delta.asJSON().endsWith("\"operations\":[]}"));
+        assertEquals(previous.asList(), delta.apply(previous).asList());
+    }
+
+
+    @Test
+    public void ensureAppliesAdditionsRemovalsAndReplacements() {
+
+        Contents current = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hello", Locale.ENGLISH)
+                .andValue("Hallo!", Locale.GERMAN)
+                .andValue("Hej", new Locale("sv"))
+                .andWithMimeType(MimeType.TEXT_BODY)
+                .andValue("first")
+                .andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 4 })
+                .asList());
+
+        ContentsDelta delta = ContentsDelta.between(previous, current);
+
+        assertEquals(5, delta.getOperations().size());
+        assertEquals(current.asList(), delta.apply(previous).asList());
+    }
+
+
+    @Test
+    public void ensureRestoresOrderOfMovedAndDuplicateEntries() {
+
+        Contents current = new Contents(Contents.withMimeType(MimeType.TEXT_BODY)
+                .andValue("second")
+                .andWithMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Bonjour", Locale.FRENCH)
+                .andValue("Hello", Locale.ENGLISH)
+                .andValue("Hallo", Locale.GERMAN)
+                .andWithMimeType(MimeType.TEXT_BODY)
+                .andValue("first")
+                .andValue("third")
+                .andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 })
+                .asList());
+
+        ContentsDelta delta = ContentsDelta.between(previous, current);
+
+        assertEquals(current.asList(), delta.apply(previous).asList());
+    }
+
+
+    @Test
+    public void ensureDeltaSurvivesJSONRoundTrip() throws IOException {
+
+        Contents current = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hallo", Locale.GERMAN)
+                .andWithMimeType(MimeType.TEXT_BODY)
+                .andValue("first")
+                .andValue("changed")
+                .andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 9 })
+                .andWithMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hej", new Locale("sv"))
+                .asList());
+
+        String json = ContentsDelta.between(previous, current).asJSON();
+        ContentsDelta delta = ContentsDelta.fromJSON(json);
+
+        assertFalse(json.contains("Bonjour"));
+        assertEquals(json, delta.asJSON());
+        assertEquals(current.asList(), delta.apply(previous).asList());
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureRejectsApplyingToOtherBase() {
+
+        Contents current = new Contents(Contents.withMimeType(MimeType.TEXT_BODY).andValue("first").asList());
+        Contents other = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hi").asList());
+
+        ContentsDelta.between(previous, current).apply(other);
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureRejectsApplyingToBaseWithOtherValues() {
+
+        Contents current = new Contents(Contents.withMimeType(MimeType.TEXT_BODY).andValue("first").asList());
+        Contents other = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hello", Locale.ENGLISH)
+                .andValue("Hallo", Locale.GERMAN)
+                .andValue("Salut", Locale.FRENCH)
+                .andWithMimeType(MimeType.TEXT_BODY)
+                .andValue("first")
+                .andValue("second")
+                .andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3 })
+                .asList());
+
+        ContentsDelta.between(previous, current).apply(other);
+    }
+
+
+    @Test
+    public void ensureRejectsAdditionsOutOfOrderOrBeyondResult() throws IOException {
+
+        String entry = "\"entry\":{\"content\":\"Hej\",\"mimeType\":\"text/vnd.contargo.subject\"}";
+
+        for (String additions : new String[] { "{\"op\":\"add\",\"index\":3," + entry + "},"
+                    + "{\"op\":\"add\",\"index\":1," + entry + "}",
+                "{\"op\":\"add\",\"index\":2," + entry + "},{\"op\":\"add\",\"index\":2," + entry + "}",
+                "{\"op\":\"add\",\"index\":7," + entry + "}" }) {
+            ContentsDelta delta = ContentsDelta.fromJSON(base() + additions + "]}");
+
+            try {
+                delta.apply(previous);
+                fail("Expected additions to be rejected: " + additions);
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("increasing indexes"));
+            }
+        }
+
+        assertEquals(7, ContentsDelta.fromJSON(base() + "{\"op\":\"add\",\"index\":6," + entry + "}]}")
+            .apply(previous)
+            .asList()
+            .size());
+    }
+
+
+    @Test(expected = IOException.class)
+    public void ensureRejectsIncompleteOperation() throws IOException {
+
+        ContentsDelta.fromJSON(base() + "{\"op\":\"add\",\"index\":0}]}");
+    }
+
+
+    @Test
+    public void ensureRejectsStructuredOperationProperties() {
+
+        for (String operation : new String[] {
+                "{\"op\":\"remove\",\"mimeType\":{\"type\":\"text\"},\"occurrence\":0}",
+                "{\"op\":\"remove\",\"mimeType\":\"text/plain\",\"locale\":[\"de\"],\"occurrence\":0}",
+                "{\"op\":[\"remove\"],\"mimeType\":\"text/plain\",\"occurrence\":0}",
+                "{\"op\":\"remove\",\"mimeType\":\"text/plain\",\"occurrence\":{\"value\":0}}" }) {
+            try {
+                ContentsDelta.fromJSON(base() + operation + "]}");
+                fail("Expected operation to be rejected: " + operation);
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("must be"));
+            }
+        }
+    }
+
+
+    @Test
+    public void ensureRejectsTrailingContent() {
+
+        String json = ContentsDelta.between(previous, new Contents(previous.asList().subList(0, 2))).asJSON();
+
+        for (String trailing : new String[] { "{}", "\"operations\"", "[]" }) {
+            try {
+                ContentsDelta.fromJSON(json + trailing);
+                fail("Expected trailing content to be rejected: " + trailing);
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("Trailing token"));
+            }
+        }
+    }
+
+
+    @Test
+    public void ensureRejectsTokensOutsideOfFields() throws Exception {
+
+        TokenBuffer tokens = new TokenBuffer(Contents.MAPPER, false);
+        tokens.writeStartObject();
+        tokens.writeNumberField("baseSize", 6);
+        tokens.writeNumberField("baseHash", previous.asList().hashCode());
+        tokens.writeArrayFieldStart("operations");
+        tokens.writeEndArray();
+        tokens.writeNumber(1);
+        tokens.writeEndObject();
+
+        try {
+            Contents.MAPPER.readValue(tokens.asParser(), ContentsDelta.class);
+            fail("Expected the value outside of a field to be rejected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("Unexpected token in contents delta"));
+        }
+    }
+
+
+    private String base() {
+
+        return "{\"baseSize\":6,\"baseHash\":" + previous.asList().hashCode() + ",\"operations\":[";
+    }
+}
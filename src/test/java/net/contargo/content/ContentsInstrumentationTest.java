@@ -0,0 +1,132 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+
+public class ContentsInstrumentationTest {
+
+    private final Contents.Buildable builder = Contents.withMimeType(MimeType.TEXT_SUBJECT)
+            .andValue("Hello", Locale.ENGLISH)
+            .andWithMimeType(MimeType.IMAGE_APPICON)
+            .andValue(new byte[] { 1, 2, 3 });
+
+    @After
+    public void tearDown() {
+
+        ContentsInstrumentation.register(null);
+    }
+
+
+    @Test
+    public void ensureReportsSerializationToListener() throws Exception {
+
+        List<String> events = new ArrayList<>();
+
+        ContentsInstrumentation.register(new ContentsListener() {
+
+                @Override
+                public void serialized(Operation operation, List<Content> contents, long size, long nanos) {
+
+                    events.add(operation + ":" + contents.size() + ":" + size);
+                }
+            });
+
+        String json = builder.asJSON();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        builder.asJSON(out);
+        builder.asMap();
+
+        byte[] binary = builder.asBinary();
+
+        assertEquals("JSON:2:" + json.length(), events.get(0));
+        assertEquals("JSON:2:" + out.size(), events.get(1));
+        assertEquals("MAP:2:-1", events.get(2));
+        assertEquals("BINARY:2:" + binary.length, events.get(3));
+    }
+
+
+    @Test
+    public void ensureReportsDeserializationToListener() throws Exception {
+
+        List<String> events = new ArrayList<>();
+
+        ContentsInstrumentation.register(new ContentsListener() {
+
+                @Override
+                public void deserialized(Content content, long size, long nanos) {
+
+                    events.add(content.getMimeType() + ":" + content.isBinary() + ":" + size);
+                }
+            });
+
+        ObjectMapper mapper = new ObjectMapper();
+        mapper.readValue(builder.asJSON(), Content[].class);
+
+        String first = mapper.writeValueAsString(builder.asList().get(0));
+        String second = mapper.writeValueAsString(builder.asList().get(1));
+
+        assertEquals(2, events.size());
+        assertEquals("text/vnd.contargo.subject:false:" + first.length(), events.get(0));
+        assertEquals("image/vnd.contargo.appicon:true:" + second.length(), events.get(1));
+    }
+
+
+    @Test
+    public void ensureRecordsMicrometerMeters() throws Exception {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ContentsInstrumentation.register(new MicrometerContentsListener(registry));
+
+        String json = builder.asJSON();
+        new ObjectMapper().readValue(json, Content[].class);
+
+        assertEquals(1, registry.get("contents.serialization").tag("operation", "json").timer().count());
+        assertEquals(json.length(),
+            registry.get("contents.serialization.size").tag("operation", "json").summary().totalAmount(), 0.0);
+        assertEquals(2, registry.get("contents.deserialization").timer().count());
+        assertEquals(1.0,
+            registry.get("contents.entries")
+                .tags("direction", "deserialization", "mimeType", MimeType.IMAGE_APPICON_VAL, "kind", "binary")
+                .counter()
+                .count(), 0.0);
+        assertEquals(1.0,
+            registry.get("contents.entries")
+                .tags("direction", "serialization", "mimeType", MimeType.TEXT_SUBJECT_VAL, "kind", "text")
+                .counter()
+                .count(), 0.0);
+        assertEquals(0, registry.get("contents.serialization").tag("operation", "map").timer().count());
+    }
+
+
+    @Test
+    public void ensureTagsFurtherMimeTypesAsOther() {
+
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        MicrometerContentsListener listener = new MicrometerContentsListener(registry);
+
+        for (int i = 0; i < 300; i++) {
+            Content content = Contents.withMimeType(new MimeType("text/x-" + i)).andValue("value").asList().get(0);
+            listener.deserialized(content, -1, 0);
+        }
+
+        assertEquals(44.0,
+            registry.get("contents.entries")
+                .tags("direction", "deserialization", "mimeType", "other", "kind", "text")
+                .counter()
+                .count(), 0.0);
+        assertEquals(256 * 2 + 4, registry.find("contents.entries").counters().size());
+    }
+}
@@ -0,0 +1,95 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.Test;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+
+public class ContentsModuleTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new ContentsModule());
+
+    private final Contents.Buildable builder = Contents.withMimeType(MimeType.TEXT_SUBJECT)
+            .andValue("Hello", Locale.ENGLISH)
+            .andValue("Hallo", Locale.GERMAN)
+            .andWithMimeType(MimeType.IMAGE_APPICON)
+            .andValue(new byte[] { 1, 2, 3 });
+
+    @Test
+    public void ensureWritesContentsAsBuilderJSON() throws Exception {
+
+        Contents contents = new Contents(builder.asList());
+
+        assertEquals(builder.asJSON(), mapper.writeValueAsString(contents));
+    }
+
+
+    @Test
+    public void ensureEmbedsContentsInObjects() throws Exception {
+
+        Notification notification = new Notification();
+        notification.recipient = "dispatch";
+        notification.contents = new Contents(builder.asList());
+
+        String json = mapper.writeValueAsString(notification);
+        Notification read = mapper.readValue(json, Notification.class);
+
+        assertEquals("{\"recipient\":\"dispatch\",\"contents\":" + builder.asJSON() + "}", json);
+        assertEquals("dispatch", read.recipient);
+        assertEquals(builder.asList(), read.contents.asList());
+        assertEquals("Hallo", read.contents.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.GERMAN));
+    }
+
+
+    @Test
+    public void ensureReadsNullAndOmitsEmptyContents() throws Exception {
+
+        assertNull(mapper.readValue("{\"recipient\":\"dispatch\",\"contents\":null}", Notification.class).contents);
+
+        Notification notification = new Notification();
+        notification.contents = new Contents(null);
+
+        assertEquals("{}",
+            mapper.copy().setSerializationInclusion(JsonInclude.Include.NON_EMPTY).writeValueAsString(notification));
+    }
+
+
+    @Test
+    public void ensureAppliesProjectionAttribute() throws Exception {
+
+        Contents contents = mapper.readerFor(Contents.class)
+                .withAttribute(ContentsProjection.class, ContentsProjection.forLocales(Locale.GERMAN))
+                .readValue(builder.asJSON());
+
+        assertEquals(2, contents.asList().size());
+        assertEquals("Hallo", contents.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.GERMAN));
+        assertNull(contents.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.ENGLISH));
+    }
+
+
+    @Test
+    public void ensureMapsWithoutAnnotations() throws Exception {
+
+        ObjectMapper plain = new ObjectMapper().disable(MapperFeature.USE_ANNOTATIONS)
+                .registerModule(new ContentsModule());
+
+        String json = plain.writeValueAsString(new Contents(builder.asList()));
+
+        assertEquals(builder.asJSON(), json);
+        assertEquals(builder.asList(), plain.readValue(json, Contents.class).asList());
+    }
+
+    public static class Notification {
+
+        public String recipient;
+        public Contents contents;
+    }
+}
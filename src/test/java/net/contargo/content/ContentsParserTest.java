@@ -0,0 +1,125 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.JsonParseException;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+
+public class ContentsParserTest {
+
+    private final List<Content> first = Contents.withMimeType(MimeType.TEXT_SUBJECT)
+            .andValue("Hello", Locale.ENGLISH)
+            .andValue("Grüße", Locale.GERMAN)
+            .asList();
+    private final List<Content> second = Contents.withMimeType(MimeType.IMAGE_APPICON)
+            .andValue(new byte[] { 1, 2, 3 })
+            .asList();
+
+    private final byte[] json = (Contents.withMimeType(MimeType.TEXT_SUBJECT)
+            .andValue("Hello", Locale.ENGLISH)
+            .andValue("Grüße", Locale.GERMAN)
+            .asJSON() + "\n"
+            + Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(new byte[] { 1, 2, 3 }).asJSON() + "\n")
+        .getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    public void ensureParsesDocumentsFedByteByByte() throws Exception {
+
+        List<Contents> documents = new ArrayList<>();
+
+        try(ContentsParser<Contents> parser = ContentsParser.documents()) {
+            for (byte b : json) {
+                documents.addAll(parser.feed(ByteBuffer.wrap(new byte[] { b })));
+            }
+
+            documents.addAll(parser.endOfInput());
+        }
+
+        assertEquals(2, documents.size());
+        assertEquals(first, documents.get(0).asList());
+        assertEquals(second, documents.get(1).asList());
+    }
+
+
+    @Test
+    public void ensureEmitsEntriesAsSoonAsParsed() throws Exception {
+
+        try(ContentsParser<Content> parser = ContentsParser.entries()) {
+            int end = indexOf("},{") + 1;
+
+            List<Content> entries = parser.feed(ByteBuffer.wrap(json, 0, end));
+
+            assertEquals(first.subList(0, 1), entries);
+
+            ByteBuffer direct = ByteBuffer.allocateDirect(json.length - end);
+            direct.put(json, end, json.length - end).flip();
+
+            List<Content> rest = parser.feed(direct);
+
+            assertEquals(first.get(1), rest.get(0));
+            assertEquals(second.get(0), rest.get(1));
+            assertTrue(parser.endOfInput().isEmpty());
+        }
+    }
+
+
+    @Test(expected = JsonParseException.class)
+    public void ensureFailsOnIncompleteDocument() throws Exception {
+
+        try(ContentsParser<Contents> parser = ContentsParser.documents()) {
+            parser.feed(ByteBuffer.wrap(json, 0, 20));
+            parser.endOfInput();
+        }
+    }
+
+
+    @Test(expected = JsonParseException.class)
+    public void ensureFailsOnOversizedEntry() throws Exception {
+
+        try(ContentsParser<Content> parser = ContentsParser.entries(16)) {
+            parser.feed(ByteBuffer.wrap(json));
+        }
+    }
+
+
+    @Test(expected = JsonParseException.class)
+    public void ensureFailsOnOversizedTokenOutsideOfDocuments() throws Exception {
+
+        byte[] chunk = new byte[64];
+        Arrays.fill(chunk, (byte) 'x');
+
+        try(ContentsParser<Contents> parser = ContentsParser.documents(256)) {
+            parser.feed(ByteBuffer.wrap(new byte[] { '"' }));
+
+            for (int i = 0; i < 8; i++) {
+                assertTrue(parser.feed(ByteBuffer.wrap(chunk)).isEmpty());
+            }
+        }
+    }
+
+
+    @Test(expected = JsonParseException.class)
+    public void ensureFailsOnUnexpectedStructure() throws Exception {
+
+        try(ContentsParser<Contents> parser = ContentsParser.documents()) {
+            parser.feed(ByteBuffer.wrap("{\"mimeType\":\"text/plain\"}".getBytes(StandardCharsets.UTF_8)));
+        }
+    }
+
+
+    private int indexOf(String value) {
+
+        return new String(json, StandardCharsets.UTF_8).indexOf(value);
+    }
+}
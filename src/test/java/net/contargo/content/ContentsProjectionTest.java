@@ -0,0 +1,173 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.core.Base64Variant;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.util.JsonParserDelegate;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+
+public class ContentsProjectionTest {
+
+    private final Contents.Buildable builder = Contents.withMimeType(MimeType.TEXT_SUBJECT)
+            .andValue("Hello", Locale.ENGLISH)
+            .andValue("Hallo", Locale.GERMAN)
+            .andWithMimeType(MimeType.TEXT_BODY)
+            .andValue("Body", Locale.ENGLISH)
+            .andValue("Inhalt", Locale.GERMAN)
+            .andWithMimeType(MimeType.TEXT_APPICON)
+            .andValue("/icon.svg")
+            .andWithMimeType(MimeType.IMAGE_APPICON)
+            .andValue(new byte[] { 1, 2, 3 });
+
+    @Test
+    public void ensureReadsSelectedMimeTypesAndLocales() throws Exception {
+
+        Contents contents = ContentsProjection.forMimeTypes(MimeType.TEXT_SUBJECT, MimeType.TEXT_APPICON)
+                .andLocales(Locale.GERMANY)
+                .read(builder.asJSON());
+
+        List<Content> expected = Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hallo", Locale.GERMAN)
+                .andWithMimeType(MimeType.TEXT_APPICON)
+                .andValue("/icon.svg")
+                .asList();
+
+        assertEquals(expected, contents.asList());
+        assertEquals("Hallo", contents.forMimeTypeAndLocale(MimeType.TEXT_SUBJECT, Locale.GERMAN));
+    }
+
+
+    @Test
+    public void ensureReadsAllMimeTypesOfSelectedLocales() throws Exception {
+
+        Contents contents = ContentsProjection.forLocales(Locale.ENGLISH)
+                .read(new ByteArrayInputStream(builder.asJSON().getBytes(StandardCharsets.UTF_8)));
+
+        assertEquals(4, contents.asList().size());
+        assertNull(contents.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.GERMAN));
+        assertEquals("Body", contents.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.ENGLISH));
+    }
+
+
+    @Test
+    public void ensureSkipsRejectedEntriesInAnyPropertyOrder() throws Exception {
+
+        String json = "[{\"mimeType\":\"image/vnd.contargo.appicon\",\"content\":{\"nested\":[1,2]},\"extra\":1},"
+            + "{\"content\":\"Hallo\",\"extra\":[true],\"locale\":\"de\",\"mimeType\":\"text/vnd.contargo.subject\"}]";
+
+        Contents contents = ContentsProjection.forMimeTypes(MimeType.TEXT_SUBJECT).read(json);
+
+        assertEquals(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("Hallo", Locale.GERMAN).asList(),
+            contents.asList());
+    }
+
+
+    @Test
+    public void ensureNeverReadsContentOfRejectedEntries() throws Exception {
+
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> read = new ArrayList<>();
+
+        JsonParser parser = new JsonParserDelegate(mapper.getFactory().createParser(builder.asJSON())) {
+
+            @Override
+            public String getText() throws IOException {
+
+                return record(super.getText());
+            }
+
+
+            @Override
+            public String getValueAsString() throws IOException {
+
+                return record(super.getValueAsString());
+            }
+
+
+            @Override
+            public char[] getTextCharacters() throws IOException {
+
+                record(super.getText());
+
+                return super.getTextCharacters();
+            }
+
+
+            @Override
+            public byte[] getBinaryValue(Base64Variant variant) throws IOException {
+
+                record(super.getText());
+
+                return super.getBinaryValue(variant);
+            }
+
+
+            private String record(String value) throws IOException {
+
+                if ("content".equals(getCurrentName())) {
+                    read.add(value);
+                }
+
+                return value;
+            }
+        };
+
+        Content[] contents = mapper.readerFor(Content[].class)
+                .withAttribute(ContentsProjection.class,
+                    ContentsProjection.forMimeTypes(MimeType.TEXT_SUBJECT).andLocales(Locale.GERMAN))
+                .readValue(parser);
+
+        assertEquals(Collections.singletonList("Hallo"), read);
+        assertEquals(6, contents.length);
+        assertEquals("Hallo", contents[1].getContent());
+    }
+
+
+    @Test
+    public void ensureSelectsCompressedEntriesByOriginalMimeType() throws Exception {
+
+        String body = String.join(" ", Collections.nCopies(100, "Inhalt"));
+        String json = new ObjectMapper().writer()
+                .withAttribute(ContentCompression.class, ContentCompression.deflate(64))
+                .writeValueAsString(Contents.withMimeType(MimeType.TEXT_BODY).andValue(body).asList());
+
+        Contents contents = ContentsProjection.forMimeTypes(MimeType.TEXT_BODY)
+                .andCompression(ContentCompression.deflate(64))
+                .read(json);
+
+        assertEquals(body, contents.forMimeType(MimeType.TEXT_BODY));
+        assertTrue(ContentsProjection.forMimeTypes(MimeType.TEXT_BODY).read(json).asList().isEmpty());
+    }
+
+
+    @Test
+    public void ensureReadsRejectedEntriesAsNullWhenGivenAsAttribute() throws Exception {
+
+        Content[] contents = new ObjectMapper().readerFor(Content[].class)
+                .withAttribute(ContentsProjection.class, ContentsProjection.forLocales(Locale.GERMAN))
+                .readValue(builder.asJSON());
+
+        assertEquals(6, contents.length);
+        assertNull(contents[0]);
+        assertEquals("Hallo", contents[1].getContent());
+        assertNull(contents[2]);
+        assertEquals("Inhalt", contents[3].getContent());
+        assertEquals("/icon.svg", contents[4].getContent());
+    }
+}
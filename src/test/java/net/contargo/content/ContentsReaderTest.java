@@ -0,0 +1,87 @@
+package net.contargo.content;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+
+public class ContentsReaderTest {
+
+    @Test
+    public void ensureReadsWrittenNewlineDelimitedDocuments() throws Exception {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(ContentsWriter writer = ContentsWriter.ndjson(out)) {
+            for (int i = 0; i < 100; i++) {
+                writer.write(document(i));
+            }
+        }
+
+        try(Stream<Contents> stream = ContentsReader.ndjson(new ByteArrayInputStream(out.toByteArray())).stream()) {
+            List<String> values = stream.map(c -> c.<String>forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.GERMAN))
+                .collect(Collectors.toList());
+
+            assertEquals(IntStream.range(0, 100).mapToObj(i -> "Text " + i).collect(Collectors.toList()), values);
+        }
+    }
+
+
+    @Test
+    public void ensureReadsWrittenArrayDocuments() throws Exception {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(ContentsWriter writer = ContentsWriter.jsonArray(out)) {
+            writer.write(document(1));
+            writer.write(document(2));
+        }
+
+        try(ContentsReader reader = ContentsReader.jsonArray(new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals(document(1).asList(), reader.next().asList());
+            assertEquals(document(2).asList(), reader.next().asList());
+            assertFalse(reader.hasNext());
+        }
+    }
+
+
+    @Test
+    public void ensureReadsEmptyInput() throws Exception {
+
+        assertFalse(ContentsReader.ndjson(new ByteArrayInputStream(new byte[0])).hasNext());
+        assertFalse(ContentsReader.jsonArray(new ByteArrayInputStream(new byte[0])).hasNext());
+        assertFalse(ContentsReader.jsonArray(new ByteArrayInputStream("[]".getBytes(StandardCharsets.UTF_8)))
+            .hasNext());
+    }
+
+
+    @Test(expected = UncheckedIOException.class)
+    public void ensureFailsForUnexpectedInput() throws IOException {
+
+        ContentsReader.ndjson(new ByteArrayInputStream("{}".getBytes(StandardCharsets.UTF_8))).hasNext();
+    }
+
+
+    private static Contents document(int i) {
+
+        return new Contents(Contents.withMimeType(MimeType.TEXT_BODY)
+                .andValue("Text " + i, Locale.GERMAN)
+                .andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { (byte) i })
+                .asList());
+    }
+}
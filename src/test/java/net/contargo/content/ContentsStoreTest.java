@@ -0,0 +1,259 @@
+package net.contargo.content;
+
+import org.junit.Rule;
+import org.junit.Test;
+
+import org.junit.rules.TemporaryFolder;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+
+public class ContentsStoreTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final List<Content> first = Contents.withMimeType(MimeType.TEXT_SUBJECT)
+            .andValue("Hello", Locale.ENGLISH)
+            .andValue("Hallo", Locale.GERMAN)
+            .andWithMimeType(MimeType.IMAGE_APPICON)
+            .andValue(new byte[] { 1, 2, 3 })
+            .asList();
+    private final List<Content> second = Contents.withMimeType(MimeType.TEXT_BODY).andValue("Body").asList();
+
+    @Test
+    public void ensureStoresAndReadsContents() throws Exception {
+
+        try(ContentsStore store = ContentsStore.open(folder.getRoot().toPath())) {
+            store.put("a", first);
+            store.put("b", new Contents(second));
+
+            assertEquals(first, store.get("a").asList());
+            assertEquals(second, store.get("b").asList());
+            assertNull(store.get("c"));
+            assertEquals(2, store.size());
+        }
+    }
+
+
+    @Test
+    public void ensureReplacesAndDeletesAcrossReopen() throws Exception {
+
+        Path directory = folder.getRoot().toPath();
+
+        try(ContentsStore store = ContentsStore.open(directory)) {
+            store.put("a", first);
+            store.put("b", first);
+            store.put("a", second);
+
+            assertTrue(store.delete("b"));
+            assertFalse(store.delete("b"));
+        }
+
+        try(ContentsStore store = ContentsStore.open(directory)) {
+            assertEquals(second, store.get("a").asList());
+            assertNull(store.get("b"));
+            assertEquals(1, store.size());
+        }
+    }
+
+
+    @Test
+    public void ensureRollsOverAndCompactsSegments() throws Exception {
+
+        Path directory = folder.getRoot().toPath();
+
+        try(ContentsStore store = ContentsStore.open(directory, 256)) {
+            for (int i = 0; i < 20; i++) {
+                store.put("id" + (i % 4), i % 2 == 0 ? first : second);
+            }
+
+            store.delete("id3");
+
+            assertTrue(segments(directory).size() > 2);
+
+            long before = size(directory);
+            store.compact();
+
+            assertTrue(size(directory) < before);
+            assertEquals(first, store.get("id0").asList());
+            assertEquals(second, store.get("id1").asList());
+            assertNull(store.get("id3"));
+
+            store.put("id4", first);
+        }
+
+        try(ContentsStore store = ContentsStore.open(directory, 256)) {
+            assertEquals(4, store.size());
+            assertEquals(first, store.get("id2").asList());
+            assertEquals(first, store.get("id4").asList());
+            assertNull(store.get("id3"));
+        }
+    }
+
+
+    @Test
+    public void ensureTruncatesTornRecordOnOpen() throws Exception {
+
+        Path directory = folder.getRoot().toPath();
+
+        try(ContentsStore store = ContentsStore.open(directory)) {
+            store.put("a", first);
+            store.put("b", second);
+        }
+
+        Path segment = segments(directory).get(0);
+
+        try(FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(channel.size() - 3);
+        }
+
+        try(ContentsStore store = ContentsStore.open(directory)) {
+            assertEquals(first, store.get("a").asList());
+            assertNull(store.get("b"));
+
+            store.put("b", second);
+        }
+
+        try(ContentsStore store = ContentsStore.open(directory)) {
+            assertEquals(second, store.get("b").asList());
+        }
+    }
+
+
+    @Test
+    public void ensureRejectsRecordsLargerThanSegment() throws Exception {
+
+        Path directory = folder.getRoot().toPath();
+        List<Content> large = Contents.withMimeType(MimeType.TEXT_BODY)
+                .andValue(String.join("", Collections.nCopies(512, "x")))
+                .asList();
+
+        try(ContentsStore store = ContentsStore.open(directory, 256)) {
+            store.put("a", first);
+
+            try {
+                store.put("b", large);
+                fail("Expected the record to be rejected");
+            } catch (IllegalArgumentException e) {
+                assertTrue(e.getMessage(), e.getMessage().contains("segment size"));
+            }
+
+            assertEquals(first, store.get("a").asList());
+            assertNull(store.get("b"));
+        }
+
+        try(ContentsStore store = ContentsStore.open(directory, 256)) {
+            assertEquals(1, store.size());
+            assertEquals(first, store.get("a").asList());
+        }
+    }
+
+
+    @Test
+    public void ensureReadsActiveSegmentWhileAppending() throws Exception {
+
+        try(ContentsStore store = ContentsStore.open(folder.getRoot().toPath())) {
+            for (int i = 0; i < 100; i++) {
+                store.put("id" + i, i % 2 == 0 ? first : second);
+
+                assertEquals(i % 2 == 0 ? first : second, store.get("id" + i).asList());
+                assertEquals(first, store.get("id0").asList());
+            }
+
+            assertEquals(1, segments(folder.getRoot().toPath()).size());
+        }
+    }
+
+
+    @Test
+    public void ensureFailsOnceClosed() throws Exception {
+
+        ContentsStore store = ContentsStore.open(folder.getRoot().toPath());
+        store.put("a", first);
+        store.close();
+
+        assertClosed(() -> store.get("a"));
+        assertClosed(() -> store.delete("a"));
+        assertClosed(() -> {
+            store.put("b", second);
+
+            return null;
+        });
+        assertClosed(() -> {
+            store.compact();
+
+            return null;
+        });
+        assertClosed(() -> {
+            store.flush();
+
+            return null;
+        });
+    }
+
+
+    @Test
+    public void ensureIgnoresFilesWithoutSegmentNumber() throws Exception {
+
+        Path directory = folder.getRoot().toPath();
+        Files.write(directory.resolve("contents-old.segment"), new byte[] { 1, 2, 3 });
+
+        try(ContentsStore store = ContentsStore.open(directory)) {
+            store.put("a", first);
+        }
+
+        try(ContentsStore store = ContentsStore.open(directory)) {
+            assertEquals(first, store.get("a").asList());
+        }
+
+        assertTrue(Files.exists(directory.resolve("contents-old.segment")));
+    }
+
+
+    private static void assertClosed(Callable<?> operation) throws Exception {
+
+        try {
+            operation.call();
+            fail("Expected the closed store to fail");
+        } catch (IllegalStateException e) {
+            assertEquals("store is closed", e.getMessage());
+        }
+    }
+
+
+    private static List<Path> segments(Path directory) throws Exception {
+
+        try(Stream<Path> files = Files.list(directory)) {
+            return files.sorted().collect(Collectors.toList());
+        }
+    }
+
+
+    private static long size(Path directory) throws Exception {
+
+        long size = 0;
+
+        for (Path path : segments(directory)) {
+            size += Files.size(path);
+        }
+
+        return size;
+    }
+}
@@ -3,20 +3,34 @@ package net.contargo.content;
 import net.contargo.content.Contents.Buildable;
 import net.contargo.content.Contents.Builder;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+
 import org.junit.Test;
 
 import org.skyscreamer.jsonassert.JSONAssert;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringWriter;
+
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Random;
+import java.util.stream.Collectors;
 
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
-import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 
 /**
@@ -32,7 +46,7 @@ public class ContentsTest {
 
         Buildable b2 = b1.andValue("foobar");
         assertNotNull("Missing builder", b2);
-        assertNotSame("Should be different", b2, b1);
+        assertSame("Should append in place", b2, b1);
 
         List<Content> contents = b2.asList();
 
@@ -146,6 +160,33 @@ public class ContentsTest {
     }
 
 
+    @Test
+    public void ensureJsonIsCompatibleWithMapSerialization() throws Exception {
+
+        Buildable buildable = Contents.withMimeType(MimeType.TEXT_BODY)
+                .andValue("Say it")
+                .andValue("Säg det", new Locale("sv"))
+                .andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1, 2, 3, 4, 5 });
+
+        ObjectMapper mapper = new ObjectMapper();
+        String expected = "[{\"mimeType\":\"text/vnd.contargo.body\",\"content\":\"Say it\"},"
+            + "{\"mimeType\":\"text/vnd.contargo.body\",\"locale\":\"sv\",\"content\":\"Säg det\"},"
+            + "{\"mimeType\":\"image/vnd.contargo.appicon\",\"content\":\"AQIDBAU=\"}]";
+
+        assertEquals(mapper.readTree(mapper.writeValueAsString(buildable.asMap())), mapper.readTree(expected));
+        assertEquals(expected, buildable.asJSON());
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        buildable.asJSON(out);
+        assertArrayEquals(expected.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+
+        StringWriter writer = new StringWriter();
+        buildable.asJSON(writer);
+        assertEquals(expected, writer.toString());
+    }
+
+
     @Test
     public void ensureRetrievesContentByMimeType() throws Exception {
 
@@ -191,6 +232,25 @@ public class ContentsTest {
     }
 
 
+    @Test
+    public void ensureRetrievesFirstMatchingContent() throws Exception {
+
+        List<Content> contents = Contents.withMimeType(MimeType.TEXT_BODY)
+                .andValue("first")
+                .andValue("erste", Locale.GERMAN)
+                .andValue("second")
+                .andValue("zweite", Locale.GERMANY)
+                .asList();
+
+        Contents result = new Contents(contents);
+
+        assertEquals("first", result.forMimeType(MimeType.TEXT_BODY));
+        assertEquals("erste", result.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.GERMANY));
+        assertNull(result.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.ENGLISH));
+        assertNull(result.forMimeType(MimeType.TEXT_SUBJECT));
+    }
+
+
     @Test
     public void ensureCanCreateAndRetriveBinaryImageData() throws Exception {
 
@@ -202,11 +262,113 @@ public class ContentsTest {
     }
 
 
+    @Test
+    public void ensureStreamsBinaryContent() throws Exception {
+
+        byte[] image = new byte[100000];
+        new Random(42).nextBytes(image);
+
+        String expected = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(image).asJSON();
+
+        Buildable streamed = Contents.withMimeType(MimeType.IMAGE_APPICON).andValue(new ByteArrayInputStream(image));
+        assertEquals(expected, streamed.asJSON());
+
+        List<Content> read = Contents.withMimeType(MimeType.IMAGE_APPICON)
+                .andValue(Channels.newChannel(new ByteArrayInputStream(image)))
+                .asList();
+        assertArrayEquals(image, read.get(0).getBinaryContent());
+        assertArrayEquals(image, (byte[]) new Contents(read).forMimeType(MimeType.IMAGE_APPICON));
+    }
+
+
+    @Test
+    public void ensureStreamedBinaryContentIsConsumedOnce() throws Exception {
+
+        Buildable streamed = Contents.withMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+
+        streamed.asJSON();
+
+        try {
+            streamed.asJSON();
+            fail("Expected stream to be consumed");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("stream"));
+        }
+
+        try {
+            streamed.asList();
+            fail("Expected stream to be consumed");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("stream"));
+        }
+    }
+
+
+    @Test
+    public void ensureStreamedBinaryContentCanBeBuiltAgainOnceRead() throws Exception {
+
+        Buildable streamed = Contents.withMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new ByteArrayInputStream(new byte[] { 1, 2, 3 }));
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, streamed.asList().get(0).getBinaryContent());
+        assertEquals(streamed.asJSON(), streamed.asJSON());
+    }
+
+
+    @Test
+    public void ensureSkipsEmptyStreams() throws Exception {
+
+        Buildable streamed = Contents.withMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new ByteArrayInputStream(new byte[0]))
+                .andValue(Channels.newChannel(new ByteArrayInputStream(new byte[0])));
+
+        assertTrue(streamed.asList().isEmpty());
+        assertEquals("[]", streamed.asJSON());
+    }
+
+
+    @Test
+    public void ensurePresizedBuilderKeepsOrder() throws Exception {
+
+        Buildable buildable = Contents.withMimeType(MimeType.TEXT_SUBJECT, 2)
+                .andValue("one")
+                .andValue("two", Locale.GERMAN)
+                .andWithMimeType(MimeType.TEXT_BODY)
+                .andValue("three");
+
+        List<Content> contents = buildable.asList();
+
+        assertEquals("Wrong size", 3, contents.size());
+        assertContentEquals(contents.get(0), MimeType.TEXT_SUBJECT, "one", null);
+        assertContentEquals(contents.get(1), MimeType.TEXT_SUBJECT, "two", Locale.GERMAN);
+        assertContentEquals(contents.get(2), MimeType.TEXT_BODY, "three", null);
+    }
+
+
+    @Test
+    public void ensureCollectsParallelStreamInEncounterOrder() throws Exception {
+
+        List<Locale> locales = Arrays.stream(Locale.getISOLanguages()).map(Locale::new).collect(Collectors.toList());
+
+        Contents contents = locales.parallelStream()
+                .map(l -> Content.of(MimeType.TEXT_BODY, "Text " + l, l))
+                .collect(Contents.toContents());
+
+        List<Content> expected = locales.stream()
+                .map(l -> Content.of(MimeType.TEXT_BODY, "Text " + l, l))
+                .collect(Collectors.toList());
+
+        assertEquals(expected, contents.asList());
+    }
+
+
     @Test
     public void ensureIgnoresEmptyContentEntries() throws Exception {
 
         List<Content> contents = Contents.withMimeType(MimeType.TEXT_APPICON)
                 .andValue("    ")
+                .andValue(" \t\n\u0000", Locale.ENGLISH)
                 .andWithMimeType(MimeType.TEXT_SUBJECT)
                 .andValue("")
                 .andWithMimeType(MimeType.TEXT_BODY)
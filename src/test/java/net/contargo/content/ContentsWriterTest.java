@@ -0,0 +1,62 @@
+package net.contargo.content;
+
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertEquals;
+
+
+public class ContentsWriterTest {
+
+    private final Contents first = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT).andValue("one").asList());
+    private final Contents second = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("zwei", Locale.GERMAN)
+                .asList());
+
+    @Test
+    public void ensureWritesNewlineDelimitedDocuments() throws Exception {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(ContentsWriter writer = ContentsWriter.ndjson(out)) {
+            writer.write(first);
+            writer.write(second);
+        }
+
+        assertEquals("[{\"mimeType\":\"text/vnd.contargo.subject\",\"content\":\"one\"}]\n"
+            + "[{\"mimeType\":\"text/vnd.contargo.subject\",\"locale\":\"de\",\"content\":\"zwei\"}]\n",
+            new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+
+    @Test
+    public void ensureWritesDocumentsAsArray() throws Exception {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try(ContentsWriter writer = ContentsWriter.jsonArray(out)) {
+            writer.write(first);
+            writer.write(second);
+        }
+
+        assertEquals("[[{\"mimeType\":\"text/vnd.contargo.subject\",\"content\":\"one\"}],"
+            + "[{\"mimeType\":\"text/vnd.contargo.subject\",\"locale\":\"de\",\"content\":\"zwei\"}]]",
+            new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+
+    @Test
+    public void ensureWritesEmptyArray() throws Exception {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        ContentsWriter.jsonArray(out).close();
+
+        assertEquals("[]", new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,89 @@
+package net.contargo.content;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Locale;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+
+public class FrozenContentsTest {
+
+    private final Contents.Buildable builder = Contents.withMimeType(MimeType.TEXT_SUBJECT)
+            .andValue("Hello", Locale.ENGLISH)
+            .andWithMimeType(MimeType.TEXT_BODY)
+            .andValue("Body");
+
+    @Test
+    public void ensureKeepsJsonOfContents() throws Exception {
+
+        FrozenContents frozen = new Contents(builder.asList()).freeze();
+
+        assertEquals(builder.asJSON(), frozen.asJSON());
+        assertEquals("Hello", frozen.asContents().forMimeType(MimeType.TEXT_SUBJECT));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        frozen.asJSON(out);
+
+        assertEquals(builder.asJSON(), new String(out.toByteArray(), StandardCharsets.UTF_8));
+    }
+
+
+    @Test
+    public void ensureIsEmbeddedAsRawJson() throws Exception {
+
+        ObjectMapper mapper = new ObjectMapper();
+        FrozenContents frozen = FrozenContents.of(builder.asList());
+
+        String json = mapper.writeValueAsString(new Notification("device", frozen));
+
+        assertEquals("{\"recipient\":\"device\",\"contents\":" + builder.asJSON() + "}", json);
+        assertEquals(json, new String(mapper.writeValueAsBytes(new Notification("device", frozen)),
+                StandardCharsets.UTF_8));
+    }
+
+
+    @Test
+    public void ensureIsDeserializedFromJson() throws Exception {
+
+        FrozenContents read = new ObjectMapper().readValue(builder.asJSON(), FrozenContents.class);
+
+        assertEquals(FrozenContents.of(builder.asList()), read);
+        assertEquals(builder.asList(), read.asList());
+    }
+
+
+    @Test
+    public void ensureReadsStreamedBinaryWhenFrozen() throws Exception {
+
+        FrozenContents frozen = Contents.withMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new ByteArrayInputStream(new byte[] { 1, 2, 3 }))
+                .asList()
+                .stream()
+                .collect(Contents.toContents())
+                .freeze();
+
+        assertArrayEquals(new byte[] { 1, 2, 3 }, frozen.asList().get(0).getBinaryContent());
+        assertEquals("[{\"mimeType\":\"image/vnd.contargo.appicon\",\"content\":\"AQID\"}]", frozen.asJSON());
+    }
+
+    public static class Notification {
+
+        public final String recipient;
+        public final FrozenContents contents;
+
+        Notification(String recipient, FrozenContents contents) {
+
+            this.recipient = recipient;
+            this.contents = contents;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package net.contargo.content;
+
+import java.util.ListResourceBundle;
+
+
+public class Labels extends ListResourceBundle {
+
+    @Override
+    protected Object[][] getContents() {
+
+        return new Object[][] {
+            { "footer", "Contargo GmbH" },
+            { "title", "Containers" }
+        };
+    }
+}
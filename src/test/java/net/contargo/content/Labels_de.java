@@ -0,0 +1,15 @@
+package net.contargo.content;
+
+import java.util.ListResourceBundle;
+
+
+public class Labels_de extends ListResourceBundle {
+
+    @Override
+    protected Object[][] getContents() {
+
+        return new Object[][] {
+            { "footer", "Contargo GmbH" }
+        };
+    }
+}
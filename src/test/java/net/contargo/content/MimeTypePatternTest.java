@@ -0,0 +1,94 @@
+package net.contargo.content;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+
+public class MimeTypePatternTest {
+
+    private static final MimeType SMALL_ICON = MimeType.valueOf("text/vnd.contargo.appicon+uri;class=small");
+    private static final MimeType LARGE_ICON = MimeType.valueOf("text/vnd.contargo.appicon+uri;class=large");
+
+    private final Contents contents = new Contents(Contents.withMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hello", Locale.ENGLISH)
+                .andWithMimeType(SMALL_ICON)
+                .andValue("/small.svg")
+                .andWithMimeType(MimeType.IMAGE_APPICON)
+                .andValue(new byte[] { 1 })
+                .andWithMimeType(MimeType.TEXT_SUBJECT)
+                .andValue("Hallo", Locale.GERMAN)
+                .andWithMimeType(LARGE_ICON)
+                .andValue("/large.svg")
+                .asList());
+
+    @Test
+    public void ensureMatchesWildcardParts() {
+
+        assertTrue(MimeTypePattern.compile("text/*").matches(MimeType.TEXT_BODY));
+        assertFalse(MimeTypePattern.compile("text/*").matches(MimeType.IMAGE_APPICON));
+        assertTrue(MimeTypePattern.compile("*/vnd.contargo.appicon").matches(SMALL_ICON));
+        assertTrue(MimeTypePattern.compile("*/vnd.contargo.appicon").matches(MimeType.IMAGE_APPICON));
+        assertTrue(MimeTypePattern.compile("text/vnd.contargo.*").matches(MimeType.TEXT_SUBJECT));
+        assertFalse(MimeTypePattern.compile("text/vnd.other.*").matches(MimeType.TEXT_SUBJECT));
+        assertFalse(MimeTypePattern.compile("text/subject").matches(MimeType.TEXT_SUBJECT));
+        assertTrue(MimeTypePattern.compile("*/*").matches(MimeType.valueOf("application/json")));
+    }
+
+
+    @Test
+    public void ensureMatchesSubtypesAndParams() {
+
+        assertTrue(MimeTypePattern.compile("text/vnd.contargo.appicon+uri").matches(SMALL_ICON));
+        assertFalse(MimeTypePattern.compile("text/vnd.contargo.appicon+svg").matches(SMALL_ICON));
+        assertTrue(MimeTypePattern.compile("text/*;class=small").matches(SMALL_ICON));
+        assertFalse(MimeTypePattern.compile("text/*;class=small").matches(LARGE_ICON));
+        assertTrue(MimeTypePattern.compile("text/*;class=*").matches(LARGE_ICON));
+        assertFalse(MimeTypePattern.compile("text/*;class=*").matches(MimeType.TEXT_APPICON));
+        assertTrue(MimeTypePattern.compile("text/*").withParam("class", v -> v.startsWith("l")).matches(LARGE_ICON));
+    }
+
+
+    @Test(expected = IllegalArgumentException.class)
+    public void ensureRejectsPatternWithoutName() {
+
+        MimeTypePattern.compile("text");
+    }
+
+
+    @Test
+    public void ensureQueriesContentsInOrder() {
+
+        assertEquals(Arrays.asList("Hello", "/small.svg", "Hallo", "/large.svg"),
+            values(contents.query(MimeTypePattern.compile("text/*"))));
+        assertEquals(Arrays.asList("Hello", "Hallo"),
+            values(contents.query(MimeTypePattern.compile("*/vnd.contargo.subject"))));
+        assertEquals(Arrays.asList("/large.svg"),
+            values(contents.query(MimeTypePattern.compile("*/vnd.contargo.appicon;class=large"))));
+        assertEquals(3, contents.query(MimeTypePattern.compile("*/vnd.contargo.appicon")).size());
+        assertTrue(contents.query(MimeTypePattern.compile("video/*")).isEmpty());
+    }
+
+
+    @Test
+    public void ensureParsesMimeTypeParameters() {
+
+        assertEquals("small", SMALL_ICON.getParameters().get("class"));
+        assertEquals("", MimeType.valueOf("text/plain; a ;b = c").getParameters().get("a"));
+        assertEquals("c", MimeType.valueOf("text/plain; a ;b = c").getParameters().get("b"));
+        assertTrue(MimeType.TEXT_BODY.getParameters().isEmpty());
+    }
+
+
+    private static List<Object> values(List<Content> entries) {
+
+        return entries.stream().map(Content::getContent).collect(Collectors.toList());
+    }
+}
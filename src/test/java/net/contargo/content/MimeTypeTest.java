@@ -4,6 +4,8 @@ import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 
@@ -50,4 +52,49 @@ public class MimeTypeTest {
 
         assertEquals("text/vnd.contargo.appicon;foobar", MimeType.TEXT_APPICON.withParams("foobar").getMimeType());
     }
+
+
+    @Test
+    public void ensureCanonicalInstancesAreShared() throws Exception {
+
+        assertSame(MimeType.TEXT_BODY, MimeType.valueOf("text/vnd.contargo.body"));
+        assertSame(MimeType.TEXT_APPICON.withParams("class=small"), MimeType.TEXT_APPICON.withParams("class=small"));
+        assertEquals(MimeType.TEXT_BODY, new MimeType("text/vnd.contargo.body"));
+        assertEquals(MimeType.TEXT_BODY.hashCode(), new MimeType("text/vnd.contargo.body").hashCode());
+    }
+
+
+    @Test
+    public void ensureParsesMimeTypeParts() throws Exception {
+
+        MimeType mimeType = MimeType.valueOf("text/vnd.contargo.appicon+uri;class=small");
+
+        assertEquals("text", mimeType.getType());
+        assertEquals("vnd.contargo", mimeType.getVendor());
+        assertEquals("appicon", mimeType.getName());
+        assertEquals("uri", mimeType.getSubtype());
+        assertEquals("class=small", mimeType.getParams());
+
+        MimeType plain = MimeType.valueOf("image/png");
+
+        assertEquals("image", plain.getType());
+        assertNull(plain.getVendor());
+        assertEquals("png", plain.getName());
+        assertNull(plain.getSubtype());
+        assertNull(plain.getParams());
+    }
+
+
+    @Test
+    public void ensureAcceptsNullValue() throws Exception {
+
+        MimeType mimeType = new MimeType(null);
+
+        assertNull(mimeType.getMimeType());
+        assertNull(mimeType.getType());
+        assertNull(mimeType.getName());
+        assertTrue(mimeType.getParameters().isEmpty());
+        assertFalse(mimeType.isText());
+        assertEquals(new MimeType(null), mimeType);
+    }
 }
@@ -0,0 +1,73 @@
+package net.contargo.content;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.MissingResourceException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+
+public class ResourceBundleContentsTest {
+
+    private static final String BUNDLE = "net.contargo.content.messages";
+
+    private final ResourceBundleContents factory = new ResourceBundleContents(Arrays.asList(Locale.ENGLISH,
+                Locale.GERMAN, new Locale("de", "CH"), new Locale("sv")));
+
+    @Test
+    public void ensureContainsEveryLocalization() throws Exception {
+
+        List<Content> contents = factory.get(BUNDLE, "subject", MimeType.TEXT_SUBJECT).asList();
+
+        assertEquals(Arrays.asList(Content.of(MimeType.TEXT_SUBJECT, "Container delivered"),
+                Content.of(MimeType.TEXT_SUBJECT, "Container zugestellt", Locale.GERMAN),
+                Content.of(MimeType.TEXT_SUBJECT, "Container levererad", new Locale("sv")),
+                Content.of(MimeType.TEXT_SUBJECT, "Container zugestellt (CH)", new Locale("de", "CH"))), contents);
+    }
+
+
+    @Test
+    public void ensureOmitsInheritedValues() throws Exception {
+
+        Contents contents = factory.get(BUNDLE, "body", MimeType.TEXT_BODY);
+
+        assertEquals(2, contents.asList().size());
+        assertEquals("Your container was delivered.", contents.forMimeType(MimeType.TEXT_BODY));
+        assertEquals("Din container har levererats.",
+            contents.forMimeTypeAndLocale(MimeType.TEXT_BODY, new Locale("sv")));
+        assertNull(contents.forMimeTypeAndLocale(MimeType.TEXT_BODY, Locale.GERMAN));
+    }
+
+
+    @Test
+    public void ensureKeepsOwnValuesEqualToInheritedOnes() throws Exception {
+
+        String labels = "net.contargo.content.Labels";
+
+        assertEquals(Arrays.asList(Content.of(MimeType.TEXT_BODY, "Contargo GmbH"),
+                Content.of(MimeType.TEXT_BODY, "Contargo GmbH", Locale.GERMAN)),
+            factory.get(labels, "footer", MimeType.TEXT_BODY).asList());
+        assertEquals(Arrays.asList(Content.of(MimeType.TEXT_BODY, "Containers")),
+            factory.get(labels, "title", MimeType.TEXT_BODY).asList());
+    }
+
+
+    @Test
+    public void ensureCachesContents() throws Exception {
+
+        assertSame(factory.get(BUNDLE, "subject", MimeType.TEXT_SUBJECT),
+            factory.get(BUNDLE, "subject", MimeType.TEXT_SUBJECT));
+    }
+
+
+    @Test(expected = MissingResourceException.class)
+    public void ensureFailsForMissingBundle() throws Exception {
+
+        factory.get("net.contargo.content.missing", "subject", MimeType.TEXT_SUBJECT);
+    }
+}